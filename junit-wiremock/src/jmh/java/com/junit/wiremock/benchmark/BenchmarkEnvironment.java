@@ -0,0 +1,62 @@
+package com.junit.wiremock.benchmark;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.junit.wiremock.WiremockJunitExampleApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+/**
+ * Boots the application without a web server against an embedded WireMock email API
+ * and a private in-memory H2 database. Arguments given as {@code --name=value} replace
+ * these defaults rather than being appended to them.
+ */
+public class BenchmarkEnvironment implements AutoCloseable {
+
+    private final WireMockServer wireMock;
+    private final ConfigurableApplicationContext context;
+
+    public BenchmarkEnvironment(String name, String... args) {
+        wireMock = new WireMockServer(wireMockConfig().dynamicPort().disableRequestJournal());
+        wireMock.start();
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":true,\"reason\":\"Valid email\"}")));
+
+        Map<String, String> arguments = new LinkedHashMap<>();
+        arguments.put("email.validation.api.url", wireMock.baseUrl());
+        arguments.put("spring.datasource.url", "jdbc:h2:mem:benchmark-" + name);
+        arguments.put("spring.jpa.show-sql", "false");
+        arguments.put("spring.h2.console.enabled", "false");
+        arguments.put("logging.level.root", "WARN");
+        for (String arg : args) {
+            arguments.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        context = new SpringApplicationBuilder(WiremockJunitExampleApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments.entrySet().stream()
+                        .map(argument -> "--" + argument.getKey() + "=" + argument.getValue())
+                        .toArray(String[]::new));
+    }
+
+    public WireMockServer wireMock() {
+        return wireMock;
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        wireMock.stop();
+    }
+}
@@ -0,0 +1,102 @@
+package com.junit.wiremock.benchmark;
+
+import com.junit.wiremock.entity.User;
+import com.junit.wiremock.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent creates, updates and bulk imports against H2 in file mode with {@code AUTO_SERVER},
+ * the local stand-in for the production database, with the default settings and with the
+ * {@code perf} profile. SQL echo is off in both so the baseline measures the pool and Hibernate
+ * settings rather than console output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class ConcurrentWriteBenchmark {
+
+    private static final int IMPORT_SIZE = 200;
+
+    @Param({"default", "perf"})
+    public String profile;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private BenchmarkEnvironment environment;
+    private UserService userService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = new BenchmarkEnvironment("concurrent-write-" + profile,
+                "--spring.profiles.active=" + (profile.equals("perf") ? "perf" : "default"),
+                "--spring.datasource.url=jdbc:h2:file:./target/benchmark-db/concurrent-write-" + profile
+                        + ";AUTO_SERVER=TRUE",
+                "--users.email-index.enabled=false");
+        userService = environment.getBean(UserService.class);
+    }
+
+    /** Prints how long threads waited for a pooled connection, the figure the pool size is tuned by. */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Timer acquire = environment.getBean(MeterRegistry.class).find("hikaricp.connections.acquire").timer();
+        if (acquire != null) {
+            System.out.printf("%n%s pool wait: %d acquisitions, mean %.3f ms, max %.3f ms%n", profile,
+                    acquire.count(), acquire.mean(TimeUnit.MILLISECONDS), acquire.max(TimeUnit.MILLISECONDS));
+        }
+        environment.close();
+    }
+
+    /** Each thread updates its own user so optimistic locking never rejects a write. */
+    @State(Scope.Thread)
+    public static class OwnUser {
+
+        private Long id;
+        private String email;
+        private long updates;
+
+        @Setup(Level.Trial)
+        public void setUp(ConcurrentWriteBenchmark benchmark) {
+            User user = benchmark.newUser();
+            id = benchmark.userService.createUser(user).getId();
+            email = user.getEmail();
+        }
+    }
+
+    @Benchmark
+    public User createUser() {
+        return userService.createUser(newUser());
+    }
+
+    @Benchmark
+    public User updateUser(OwnUser own) {
+        User update = new User();
+        update.setName("Updated " + ++own.updates);
+        update.setEmail(own.email);
+        return userService.updateUser(own.id, update);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IMPORT_SIZE)
+    public int importUsers() {
+        List<User> users = new ArrayList<>(IMPORT_SIZE);
+        for (int i = 0; i < IMPORT_SIZE; i++) {
+            users.add(newUser());
+        }
+        return userService.importUsers(users.iterator()).getCreated();
+    }
+
+    private User newUser() {
+        long id = sequence.incrementAndGet();
+        User user = new User();
+        user.setName("Benchmark User " + id);
+        user.setEmail("writer" + id + "@benchmark.test");
+        return user;
+    }
+}
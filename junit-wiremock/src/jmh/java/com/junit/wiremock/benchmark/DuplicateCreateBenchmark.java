@@ -0,0 +1,98 @@
+package com.junit.wiremock.benchmark;
+
+import com.junit.wiremock.cache.EmailIndex;
+import com.junit.wiremock.entity.User;
+import com.junit.wiremock.exception.DuplicateEmailException;
+import com.junit.wiremock.repository.UserRepository;
+import com.junit.wiremock.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.openjdk.jmh.annotations.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+
+/**
+ * Duplicate-heavy {@code createUser} workload against an email API with a small fixed delay,
+ * with and without the in-memory email index. Prints the validation calls made per create.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DuplicateCreateBenchmark {
+
+    private static final int EXISTING_USERS = 50_000;
+    private static final int VALIDATION_DELAY_MS = 2;
+
+    @Param({"true", "false"})
+    public boolean emailIndex;
+
+    @Param({"0.9"})
+    public double duplicateRatio;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong creates = new AtomicLong();
+
+    private BenchmarkEnvironment environment;
+    private UserService userService;
+    private MeterRegistry meterRegistry;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = new BenchmarkEnvironment("duplicate-create-" + emailIndex,
+                "--users.email-index.enabled=" + emailIndex);
+        environment.wireMock().stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":true,\"reason\":\"Valid email\"}")
+                        .withFixedDelay(VALIDATION_DELAY_MS)));
+        userService = environment.getBean(UserService.class);
+        meterRegistry = environment.getBean(MeterRegistry.class);
+
+        UserRepository userRepository = environment.getBean(UserRepository.class);
+        List<User> users = new ArrayList<>(EXISTING_USERS);
+        for (int i = 0; i < EXISTING_USERS; i++) {
+            User user = new User();
+            user.setName("Existing User " + i);
+            user.setEmail(existingEmail(i));
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+        environment.getBean(EmailIndex.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        double validations = Search.in(meterRegistry).name("email.validation.requests").timers().stream()
+                .mapToLong(timer -> timer.count())
+                .sum();
+        System.out.printf("%nemailIndex=%s: %.3f validation calls per create (%d creates)%n",
+                emailIndex, validations / Math.max(1, creates.get()), creates.get());
+        environment.close();
+    }
+
+    @Benchmark
+    public Object createUser() {
+        creates.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        User user = new User();
+        user.setName("Benchmark User");
+        user.setEmail(random.nextDouble() < duplicateRatio
+                ? existingEmail(random.nextInt(EXISTING_USERS))
+                : "new" + sequence.incrementAndGet() + "@benchmark.test");
+        try {
+            return userService.createUser(user);
+        } catch (DuplicateEmailException e) {
+            return e;
+        }
+    }
+
+    private static String existingEmail(int i) {
+        return "existing" + i + "@benchmark.test";
+    }
+}
@@ -0,0 +1,33 @@
+package com.junit.wiremock.benchmark;
+
+import com.junit.wiremock.client.EmailSyntax;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Cost of the local syntax check that now runs before every remote validation, next to the
+ * kind of regex it replaces. Run with {@code -prof gc} to confirm the parser allocates nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmailSyntaxBenchmark {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+            "^[A-Za-z0-9!#$%&'*+/=?^_`{|}~-]+(?:\\.[A-Za-z0-9!#$%&'*+/=?^_`{|}~-]+)*"
+                    + "@(?:[A-Za-z0-9](?:[A-Za-z0-9-]{0,61}[A-Za-z0-9])?\\.)+[A-Za-z]{2,}$");
+
+    @Param({"john.doe+newsletter@mail.example.co.uk", "john..doe@example.com", "john.doe.example.com"})
+    public String email;
+
+    @Benchmark
+    public EmailSyntax.Result parser() {
+        return EmailSyntax.check(email);
+    }
+
+    @Benchmark
+    public boolean regex() {
+        return EMAIL_PATTERN.matcher(email).matches();
+    }
+}
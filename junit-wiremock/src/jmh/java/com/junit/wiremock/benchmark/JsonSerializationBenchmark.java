@@ -0,0 +1,55 @@
+package com.junit.wiremock.benchmark;
+
+import com.junit.wiremock.dto.EmailValidationResponse;
+import com.junit.wiremock.entity.User;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private User user;
+    private String userJson;
+    private EmailValidationResponse validationResponse;
+    private String validationResponseJson;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setId(42L);
+        user.setName("John Doe");
+        user.setEmail("john@example.com");
+        userJson = jsonMapper.writeValueAsString(user);
+
+        validationResponse = new EmailValidationResponse();
+        validationResponse.setEmail("john@example.com");
+        validationResponse.setValid(true);
+        validationResponse.setReason("Valid email");
+        validationResponseJson = jsonMapper.writeValueAsString(validationResponse);
+    }
+
+    @Benchmark
+    public String serializeUser() {
+        return jsonMapper.writeValueAsString(user);
+    }
+
+    @Benchmark
+    public User deserializeUser() {
+        return jsonMapper.readValue(userJson, User.class);
+    }
+
+    @Benchmark
+    public String serializeEmailValidationResponse() {
+        return jsonMapper.writeValueAsString(validationResponse);
+    }
+
+    @Benchmark
+    public EmailValidationResponse deserializeEmailValidationResponse() {
+        return jsonMapper.readValue(validationResponseJson, EmailValidationResponse.class);
+    }
+}
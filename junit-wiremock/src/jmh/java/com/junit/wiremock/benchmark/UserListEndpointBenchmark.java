@@ -0,0 +1,57 @@
+package com.junit.wiremock.benchmark;
+
+import com.junit.wiremock.entity.User;
+import com.junit.wiremock.repository.UserRepository;
+import com.junit.wiremock.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the full list path from the database to the response body: loading entities and
+ * serialising the list, against streaming a projection query through the exporter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserListEndpointBenchmark {
+
+    private static final int USERS = 5_000;
+
+    private BenchmarkEnvironment environment;
+    private UserService userService;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = new BenchmarkEnvironment("user-list");
+        userService = environment.getBean(UserService.class);
+        objectMapper = environment.getBean(ObjectMapper.class);
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("Benchmark User " + i);
+            user.setEmail("lister" + i + "@benchmark.test");
+            users.add(user);
+        }
+        environment.getBean(UserRepository.class).saveAll(users);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public void entityList() {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), userService.getAllUsers());
+    }
+
+    @Benchmark
+    public long projectionStream() {
+        return userService.writeAllUsers(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,53 @@
+package com.junit.wiremock.benchmark;
+
+import com.junit.wiremock.entity.User;
+import com.junit.wiremock.repository.UserRepository;
+import com.junit.wiremock.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@code getUserById} through the read-through user cache with the same lookup when
+ * caching is disabled and every call goes to the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserReadBenchmark {
+
+    private static final int USERS = 1_000;
+
+    @Param({"caffeine", "none"})
+    public String cacheType;
+
+    private BenchmarkEnvironment environment;
+    private UserService userService;
+    private List<Long> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = new BenchmarkEnvironment("user-read-" + cacheType, "--spring.cache.type=" + cacheType);
+        userService = environment.getBean(UserService.class);
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("Benchmark User " + i);
+            user.setEmail("reader" + i + "@benchmark.test");
+            users.add(user);
+        }
+        userIds = environment.getBean(UserRepository.class).saveAll(users).stream().map(User::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public User getUserById() {
+        return userService.getUserById(userIds.get(ThreadLocalRandom.current().nextInt(USERS)));
+    }
+}
@@ -0,0 +1,74 @@
+package com.junit.wiremock.benchmark;
+
+import com.junit.wiremock.dto.UserResponse;
+import com.junit.wiremock.dto.UserSearchPage;
+import com.junit.wiremock.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches a million-row users table with the lowercase indexes and with them dropped. The
+ * query plans are printed during setup: index range scans with the indexes, table scans
+ * without them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserSearchBenchmark {
+
+    private static final int USERS = 1_000_000;
+
+    @Param({"indexed", "unindexed"})
+    public String indexes;
+
+    private BenchmarkEnvironment environment;
+    private UserService userService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = new BenchmarkEnvironment("user-search-" + indexes, "--users.email-index.enabled=false");
+        userService = environment.getBean(UserService.class);
+        JdbcTemplate jdbcTemplate = environment.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into users (id, name, email) "
+                + "select x, 'User ' || x, 'User' || x || '@Search.test' from system_range(1, ?)", USERS);
+        if (indexes.equals("unindexed")) {
+            jdbcTemplate.execute("drop index idx_users_name_lower");
+            jdbcTemplate.execute("drop index idx_users_email_lower");
+        }
+        jdbcTemplate.execute("analyze");
+        printPlan(jdbcTemplate, "select id from users where email_lower = 'user500000@search.test'");
+        printPlan(jdbcTemplate, "select id from users where name_lower like 'user 50000%' order by name_lower, id "
+                + "fetch first 21 rows only");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public Optional<UserResponse> exactEmail() {
+        return userService.findUserByEmail("USER" + randomId() + "@search.test");
+    }
+
+    @Benchmark
+    public UserSearchPage namePrefix() {
+        return userService.searchUsersByNamePrefix("user " + randomId() / 10, 0, 20);
+    }
+
+    @Benchmark
+    public UserSearchPage emailPrefix() {
+        return userService.searchUsersByEmailPrefix("user" + randomId() / 10, 0, 20);
+    }
+
+    private static int randomId() {
+        return ThreadLocalRandom.current().nextInt(10, USERS + 1);
+    }
+
+    private void printPlan(JdbcTemplate jdbcTemplate, String sql) {
+        System.out.printf("%n[%s] %s%n", indexes, jdbcTemplate.queryForObject("explain analyze " + sql, String.class));
+    }
+}
@@ -0,0 +1,76 @@
+package com.junit.wiremock.benchmark;
+
+import com.junit.wiremock.dto.UserResponse;
+import com.junit.wiremock.entity.User;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.module.blackbird.BlackbirdModule;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialises the same users as Lombok entities and as record projections, with a plain mapper
+ * and with Blackbird. Run with the profile's {@code -prof gc} to compare bytes allocated per
+ * operation alongside the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserSerializationBenchmark {
+
+    private static final int USERS = 1_000;
+
+    @Param({"default", "blackbird"})
+    public String mapper;
+
+    private List<User> entities;
+    private List<UserResponse> projections;
+    private ObjectWriter entityListWriter;
+    private ObjectWriter projectionWriter;
+
+    @Setup
+    public void setUp() {
+        JsonMapper.Builder builder = JsonMapper.builder();
+        if (mapper.equals("blackbird")) {
+            builder.addModule(new BlackbirdModule());
+        }
+        JsonMapper jsonMapper = builder.build();
+        entities = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setName("Benchmark User " + i);
+            user.setEmail("user" + i + "@benchmark.test");
+            user.setVersion(0L);
+            user.setUpdatedAt(Instant.now());
+            entities.add(user);
+        }
+        projections = entities.stream().map(UserResponse::from).toList();
+        entityListWriter = jsonMapper.writer();
+        projectionWriter = jsonMapper.writerFor(UserResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /** What the list endpoint used to do: serialise a materialised list of entities. */
+    @Benchmark
+    public void entityList() {
+        entityListWriter.writeValue(OutputStream.nullOutputStream(), entities);
+    }
+
+    /** What the list endpoint does now: write projections one by one into an open array. */
+    @Benchmark
+    public void projectionStream() {
+        try (var generator = projectionWriter.createGenerator(OutputStream.nullOutputStream())) {
+            generator.writeStartArray();
+            for (UserResponse user : projections) {
+                projectionWriter.writeValue(generator, user);
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.junit.wiremock.benchmark;
+
+import com.junit.wiremock.entity.User;
+import com.junit.wiremock.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserServiceBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private BenchmarkEnvironment environment;
+    private UserService userService;
+    private Long existingUserId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = new BenchmarkEnvironment("user-service");
+        userService = environment.getBean(UserService.class);
+        existingUserId = userService.createUser(newUser()).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public User createUser() {
+        return userService.createUser(newUser());
+    }
+
+    @Benchmark
+    public User getUserById() {
+        return userService.getUserById(existingUserId);
+    }
+
+    @Benchmark
+    public User updateUser() {
+        User update = new User();
+        update.setName("Updated " + sequence.incrementAndGet());
+        update.setEmail("existing@benchmark.test");
+        return userService.updateUser(existingUserId, update);
+    }
+
+    private User newUser() {
+        long id = sequence.incrementAndGet();
+        User user = new User();
+        user.setName("Benchmark User " + id);
+        user.setEmail("user" + id + "@benchmark.test");
+        return user;
+    }
+}
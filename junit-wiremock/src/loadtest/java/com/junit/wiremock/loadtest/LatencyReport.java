@@ -0,0 +1,137 @@
+package com.junit.wiremock.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms for one scenario. Latencies are recorded in microseconds
+ * from the intended start of each request, so time spent queueing behind a slow response is
+ * part of the latency instead of being omitted. Requests shed with 503 or 429 are counted as
+ * errors and also separately, and goodput and the successful-only p99 show whether shedding
+ * kept the admitted work fast.
+ */
+public class LatencyReport {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String CSV_HEADER =
+            "label,scenario,operation,count,errors,shed,p50_ms,p90_ms,p99_ms,p99_9_ms,max_ms,throughput_per_s,"
+                    + "goodput_per_s,ok_p99_ms";
+
+    private final String scenario;
+    private final Map<UserOperation, Histogram> histograms = new EnumMap<>(UserOperation.class);
+    private final Map<UserOperation, Histogram> successes = new EnumMap<>(UserOperation.class);
+    private final Map<UserOperation, LongAdder> errors = new EnumMap<>(UserOperation.class);
+    private final Map<UserOperation, LongAdder> shed = new EnumMap<>(UserOperation.class);
+    private volatile long elapsedNanos;
+
+    public LatencyReport(String scenario) {
+        this.scenario = scenario;
+        for (UserOperation operation : UserOperation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3));
+            successes.put(operation, new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+            shed.put(operation, new LongAdder());
+        }
+    }
+
+    /** Records one request; {@code status} is the HTTP status, or 0 when no response arrived. */
+    public void record(UserOperation operation, long latencyNanos, int status) {
+        long micros = Math.min(MAX_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        histograms.get(operation).recordValue(micros);
+        if (status >= 200 && status < 300) {
+            successes.get(operation).recordValue(micros);
+        } else {
+            errors.get(operation).increment();
+            if (status == 503 || status == 429) {
+                shed.get(operation).increment();
+            }
+        }
+    }
+
+    public void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Writes one {@code .hgrm} percentile distribution per operation plus {@code all.hgrm}
+     * under {@code <output>/<label>/<scenario>}, and appends a row per operation to
+     * {@code <output>/summary.csv}. Distributions from different labels can be overlaid with
+     * the HdrHistogram plotter to compare releases.
+     */
+    public void write(Path output, String label, PrintStream console) throws IOException {
+        Path directory = output.resolve(label).resolve(scenario);
+        Files.createDirectories(directory);
+        Histogram all = new Histogram(MAX_TRACKABLE_MICROS, 3);
+        Histogram allSuccesses = new Histogram(MAX_TRACKABLE_MICROS, 3);
+        long allErrors = 0;
+        long allShed = 0;
+        StringBuilder csv = new StringBuilder();
+        console.printf("%n%s [%s]%n", scenario, label);
+        console.printf("%-10s %8s %7s %7s %9s %9s %9s %9s %9s %10s %9s%n", "operation", "count", "errors", "shed",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "goodput/s", "ok p99 ms");
+        for (UserOperation operation : UserOperation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            long operationErrors = errors.get(operation).sum();
+            long operationShed = shed.get(operation).sum();
+            writeDistribution(histogram, directory.resolve(operation.metricName() + ".hgrm"));
+            summarize(operation.metricName(), histogram, successes.get(operation), operationErrors, operationShed,
+                    label, console, csv);
+            all.add(histogram);
+            allSuccesses.add(successes.get(operation));
+            allErrors += operationErrors;
+            allShed += operationShed;
+        }
+        writeDistribution(all, directory.resolve("all.hgrm"));
+        summarize("all", all, allSuccesses, allErrors, allShed, label, console, csv);
+        appendCsv(output.resolve("summary.csv"), csv.toString());
+    }
+
+    private void summarize(String operation, Histogram histogram, Histogram successful, long operationErrors,
+                           long operationShed, String label, PrintStream console, StringBuilder csv) {
+        double throughput = perSecond(histogram.getTotalCount());
+        double goodput = perSecond(successful.getTotalCount());
+        console.printf(Locale.ROOT, "%-10s %8d %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %10.1f %9.2f%n", operation,
+                histogram.getTotalCount(), operationErrors, operationShed, millis(histogram, 50), millis(histogram, 90),
+                millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / MICROS_PER_MILLI, goodput,
+                millis(successful, 99));
+        csv.append(String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.1f,%.1f,%.3f%n", label,
+                scenario, operation, histogram.getTotalCount(), operationErrors, operationShed, millis(histogram, 50),
+                millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / MICROS_PER_MILLI, throughput, goodput, millis(successful, 99)));
+    }
+
+    private double perSecond(long count) {
+        return elapsedNanos > 0 ? count / (elapsedNanos / 1e9) : 0;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static void writeDistribution(Histogram histogram, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private static void appendCsv(Path file, String rows) throws IOException {
+        if (Files.notExists(file)) {
+            Files.writeString(file, CSV_HEADER + System.lineSeparator());
+        }
+        Files.writeString(file, rows, StandardOpenOption.APPEND);
+    }
+}
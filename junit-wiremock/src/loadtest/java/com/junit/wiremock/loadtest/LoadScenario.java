@@ -0,0 +1,37 @@
+package com.junit.wiremock.loadtest;
+
+import java.time.Duration;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * An open-model load shape: requests arrive at {@code rate(t)} per second regardless of how
+ * fast the application answers, where {@code t} is the number of seconds since the start.
+ */
+public record LoadScenario(String name, Duration duration, DoubleUnaryOperator rate) {
+
+    /** Arrival rates are clamped to this floor so a ramp starting at zero still progresses. */
+    static final double MIN_RATE = 0.1;
+
+    public double rateAt(double elapsedSeconds) {
+        return Math.max(MIN_RATE, rate.applyAsDouble(elapsedSeconds));
+    }
+
+    public static LoadScenario constant(double perSecond, Duration duration) {
+        return new LoadScenario("constant", duration, t -> perSecond);
+    }
+
+    public static LoadScenario ramp(double fromPerSecond, double toPerSecond, Duration duration) {
+        double seconds = duration.toNanos() / 1e9;
+        return new LoadScenario("ramp", duration,
+                t -> fromPerSecond + (toPerSecond - fromPerSecond) * Math.min(1, t / seconds));
+    }
+
+    /** Runs at the base rate with a burst at the peak rate in the middle of the scenario. */
+    public static LoadScenario spike(double basePerSecond, double peakPerSecond, Duration duration, Duration spike) {
+        double seconds = duration.toNanos() / 1e9;
+        double spikeStart = (seconds - spike.toNanos() / 1e9) / 2;
+        double spikeEnd = spikeStart + spike.toNanos() / 1e9;
+        return new LoadScenario("spike", duration,
+                t -> t >= spikeStart && t < spikeEnd ? peakPerSecond : basePerSecond);
+    }
+}
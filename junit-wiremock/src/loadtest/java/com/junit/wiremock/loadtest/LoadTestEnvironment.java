@@ -0,0 +1,65 @@
+package com.junit.wiremock.loadtest;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.junit.wiremock.WiremockJunitExampleApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+/**
+ * Boots the application on a random port against an embedded WireMock that serves the same
+ * mapping files as the docker-compose mock, and a private in-memory H2 database.
+ */
+public class LoadTestEnvironment implements AutoCloseable {
+
+    private final WireMockServer wireMock;
+    private final ConfigurableApplicationContext context;
+
+    public LoadTestEnvironment(Path mappings, List<String> args) {
+        wireMock = new WireMockServer(wireMockConfig()
+                .dynamicPort()
+                .containerThreads(200)
+                .jettyAcceptQueueSize(1000)
+                .usingFilesUnderDirectory(mappings.toString())
+                .globalTemplating(true)
+                .disableRequestJournal());
+        wireMock.start();
+
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--email.validation.api.url=" + wireMock.baseUrl(),
+                "--spring.datasource.url=jdbc:h2:mem:loadtest",
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--logging.level.root=WARN"));
+        arguments.addAll(args);
+        context = new SpringApplicationBuilder(WiremockJunitExampleApplication.class)
+                .run(arguments.toArray(String[]::new));
+    }
+
+    /** Delays every stubbed response, e.g. to overload the application with a slow email API. */
+    public void delayStubs(Duration delay) {
+        wireMock.setGlobalFixedDelay((int) delay.toMillis());
+    }
+
+    public URI applicationUri() {
+        return URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    /** The stubbed user API from the docker mappings, to measure the harness without the application. */
+    public URI stubUri() {
+        return URI.create(wireMock.baseUrl());
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        wireMock.stop();
+    }
+}
@@ -0,0 +1,104 @@
+package com.junit.wiremock.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs open-model load scenarios against the CRUD endpoints and writes HdrHistogram reports.
+ * Started by {@code mvn -Ploadtest verify}; options go into {@code -Dloadtest.args}, e.g.
+ * {@code -Dloadtest.args="--scenarios=spike --rate=200 --peak-rate=1000"}.
+ * <ul>
+ *     <li>{@code --scenarios}: any of {@code constant,ramp,spike} (all three by default)</li>
+ *     <li>{@code --rate}: requests per second for constant load and the spike baseline (100)</li>
+ *     <li>{@code --peak-rate}: end of the ramp and height of the spike (500)</li>
+ *     <li>{@code --ramp-from}: start of the ramp (10)</li>
+ *     <li>{@code --duration}, {@code --spike-duration}, {@code --warmup}: 30s, 5s and 10s</li>
+ *     <li>{@code --seed-users}: users created before the run for reads and updates (500)</li>
+ *     <li>{@code --mix}: operation weights such as {@code get-by-id:60,create:40}</li>
+ *     <li>{@code --target}: {@code app} (default) or {@code stubs} to load the docker user stubs only</li>
+ *     <li>{@code --stub-delay}: added to every WireMock response after warmup, e.g. {@code 500ms} to
+ *     overload the application with a slow email API (0s)</li>
+ *     <li>{@code --label}: report directory name, typically the release being measured</li>
+ *     <li>{@code --app.<property>=<value>}: passed to the application as {@code --<property>=<value>}</li>
+ * </ul>
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--app.")) {
+                applicationArgs.add("--" + arg.substring("--app.".length()));
+            } else if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+        }
+
+        double rate = Double.parseDouble(options.getOrDefault("rate", "100"));
+        double peakRate = Double.parseDouble(options.getOrDefault("peak-rate", "500"));
+        double rampFrom = Double.parseDouble(options.getOrDefault("ramp-from", "10"));
+        Duration duration = duration(options.getOrDefault("duration", "30s"));
+        Duration spikeDuration = duration(options.getOrDefault("spike-duration", "5s"));
+        Duration warmup = duration(options.getOrDefault("warmup", "10s"));
+        Duration stubDelay = duration(options.getOrDefault("stub-delay", "0s"));
+        int seedUsers = Integer.parseInt(options.getOrDefault("seed-users", "500"));
+        UserOperation.Mix mix = options.containsKey("mix")
+                ? UserOperation.Mix.parse(options.get("mix")) : UserOperation.Mix.defaults();
+        boolean stubsOnly = "stubs".equals(options.getOrDefault("target", "app"));
+        Path mappings = Path.of(options.getOrDefault("mappings", "../wiremock docker/wiremock"));
+        Path output = Path.of(options.getOrDefault("output", "target/loadtest"));
+        String label = options.getOrDefault("label", "local");
+
+        List<LoadScenario> scenarios = new ArrayList<>();
+        for (String name : options.getOrDefault("scenarios", "constant,ramp,spike").split(",")) {
+            scenarios.add(switch (name.trim()) {
+                case "constant" -> LoadScenario.constant(rate, duration);
+                case "ramp" -> LoadScenario.ramp(rampFrom, peakRate, duration);
+                case "spike" -> LoadScenario.spike(rate, peakRate, duration, spikeDuration);
+                default -> throw new IllegalArgumentException("Unknown scenario " + name);
+            });
+        }
+
+        try (LoadTestEnvironment environment = new LoadTestEnvironment(mappings, applicationArgs);
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .build()) {
+            URI target = stubsOnly ? environment.stubUri() : environment.applicationUri();
+            UserApiClient client = new UserApiClient(httpClient, target, duration(options.getOrDefault("timeout", "10s")));
+            if (stubsOnly) {
+                client.useIds(List.of(1L));
+            } else {
+                client.seed(seedUsers);
+            }
+            OpenModelLoadGenerator generator = new OpenModelLoadGenerator(client, mix);
+            if (!warmup.isZero()) {
+                System.out.printf("Warming up %s for %s at %.0f/s%n", target, warmup, rate);
+                generator.run(LoadScenario.constant(rate, warmup));
+            }
+            if (!stubDelay.isZero()) {
+                System.out.printf("Delaying stubbed responses by %s%n", stubDelay);
+                environment.delayStubs(stubDelay);
+            }
+            for (LoadScenario scenario : scenarios) {
+                System.out.printf("Running %s against %s for %s%n", scenario.name(), target, scenario.duration());
+                generator.run(scenario).write(output, label, System.out);
+            }
+        }
+        System.out.printf("%nReports written to %s%n", output.toAbsolutePath().resolve(label));
+    }
+
+    private static Duration duration(String value) {
+        return DurationStyle.detectAndParse(value);
+    }
+}
@@ -0,0 +1,59 @@
+package com.junit.wiremock.loadtest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Issues requests on a fixed arrival schedule, each on its own virtual thread. A slow response
+ * never delays the next arrival, so a saturated application shows up as growing latency rather
+ * than as a quietly reduced request rate.
+ */
+public class OpenModelLoadGenerator {
+
+    private final UserApiClient client;
+    private final UserOperation.Mix mix;
+
+    public OpenModelLoadGenerator(UserApiClient client, UserOperation.Mix mix) {
+        this.client = client;
+        this.mix = mix;
+    }
+
+    public LatencyReport run(LoadScenario scenario) {
+        LatencyReport report = new LatencyReport(scenario.name());
+        long durationNanos = scenario.duration().toNanos();
+        long start = System.nanoTime();
+        double elapsedSeconds = 0;
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (true) {
+                elapsedSeconds += 1 / scenario.rateAt(elapsedSeconds);
+                long intendedStart = start + (long) (elapsedSeconds * 1e9);
+                if (intendedStart - start >= durationNanos) {
+                    break;
+                }
+                parkUntil(intendedStart);
+                UserOperation operation = mix.next();
+                requests.execute(() -> send(operation, intendedStart, report));
+            }
+        }
+        report.finish(System.nanoTime() - start);
+        return report;
+    }
+
+    private void send(UserOperation operation, long intendedStart, LatencyReport report) {
+        int status;
+        try {
+            status = client.execute(operation);
+        } catch (Exception e) {
+            status = 0;
+        }
+        report.record(operation, System.nanoTime() - intendedStart, status);
+    }
+
+    private static void parkUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
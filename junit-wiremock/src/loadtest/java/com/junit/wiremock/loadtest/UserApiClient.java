@@ -0,0 +1,129 @@
+package com.junit.wiremock.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends the requests behind each {@link UserOperation}. Reads and updates target a fixed set
+ * of seeded users so they never miss; deletes only remove users created during the run.
+ */
+public class UserApiClient {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final Duration timeout;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong emails = new AtomicLong();
+    private final Queue<Long> deletable = new ConcurrentLinkedQueue<>();
+    private volatile List<Long> seededIds = List.of();
+    private volatile boolean deleteCreated = true;
+
+    public UserApiClient(HttpClient httpClient, URI baseUri, Duration timeout) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Creates {@code count} users for reads and updates to target, and as many again that
+     * deletes may remove before the run has created its own.
+     */
+    public void seed(int count) throws IOException, InterruptedException {
+        Long[] ids = new Long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = seedUser();
+            deletable.add(seedUser());
+        }
+        seededIds = List.of(ids);
+    }
+
+    /** Uses fixed ids instead of seeding, for targets such as static stubs that cannot store users. */
+    public void useIds(List<Long> ids) {
+        seededIds = List.copyOf(ids);
+        deleteCreated = false;
+    }
+
+    /** Returns the HTTP status, so callers can count anything but 2xx as an error. */
+    public int execute(UserOperation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case GET_BY_ID -> send(request("/api/users/" + seededId()).GET().build()).statusCode();
+            case LIST_PAGE -> send(request("/api/users?page=" + ThreadLocalRandom.current().nextInt(10) + "&size=20")
+                    .GET().build()).statusCode();
+            case CREATE -> {
+                HttpResponse<String> response = send(create());
+                if (response.statusCode() == 201 && deleteCreated) {
+                    deletable.add(parseId(response.body()));
+                }
+                yield response.statusCode();
+            }
+            case UPDATE -> {
+                long id = seededId();
+                yield send(request("/api/users/" + id)
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(userJson("Updated " + id, "updated-" + id + "-" + runId)))
+                        .build()).statusCode();
+            }
+            case DELETE -> {
+                Long id = deleteCreated ? deletable.poll() : Long.valueOf(seededId());
+                if (id == null) {
+                    throw new IllegalStateException("Deletes outpaced creates, nothing left to delete");
+                }
+                yield send(request("/api/users/" + id).DELETE().build()).statusCode();
+            }
+        };
+    }
+
+    private long seedUser() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(create());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return parseId(response.body());
+    }
+
+    private HttpRequest create() {
+        long n = emails.incrementAndGet();
+        return request("/api/users")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(userJson("Load User " + n, "load-" + runId + "-" + n)))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private long seededId() {
+        List<Long> ids = seededIds;
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static String userJson(String name, String localPart) {
+        return "{\"name\":\"" + name + "\",\"email\":\"" + localPart + "@loadtest.example.com\"}";
+    }
+
+    private static long parseId(String body) {
+        Matcher matcher = ID.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No id in response: " + body);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+}
@@ -0,0 +1,65 @@
+package com.junit.wiremock.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** The CRUD requests a scenario mixes, each with its default share of the traffic. */
+public enum UserOperation {
+    GET_BY_ID(55),
+    LIST_PAGE(10),
+    CREATE(20),
+    UPDATE(10),
+    DELETE(5);
+
+    private final int defaultWeight;
+
+    UserOperation(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String metricName() {
+        return name().toLowerCase().replace('_', '-');
+    }
+
+    /** Picks operations at random according to their weights. */
+    public record Mix(Map<UserOperation, Integer> weights, int total) {
+
+        public static Mix defaults() {
+            Map<UserOperation, Integer> weights = new EnumMap<>(UserOperation.class);
+            for (UserOperation operation : values()) {
+                weights.put(operation, operation.defaultWeight);
+            }
+            return of(weights);
+        }
+
+        /** Parses {@code get-by-id:60,create:40}; operations that are not listed are not sent. */
+        public static Mix parse(String spec) {
+            Map<UserOperation, Integer> weights = new EnumMap<>(UserOperation.class);
+            for (String entry : spec.split(",")) {
+                String[] parts = entry.trim().split(":");
+                weights.put(valueOf(parts[0].trim().toUpperCase().replace('-', '_')), Integer.parseInt(parts[1].trim()));
+            }
+            return of(weights);
+        }
+
+        private static Mix of(Map<UserOperation, Integer> weights) {
+            int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+            if (total <= 0) {
+                throw new IllegalArgumentException("Operation mix needs a positive total weight: " + weights);
+            }
+            return new Mix(weights, total);
+        }
+
+        public UserOperation next() {
+            int pick = ThreadLocalRandom.current().nextInt(total);
+            for (Map.Entry<UserOperation, Integer> weight : weights.entrySet()) {
+                pick -= weight.getValue();
+                if (pick < 0) {
+                    return weight.getKey();
+                }
+            }
+            throw new IllegalStateException("Weights changed while picking an operation");
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.junit.wiremock.cache;
+
+import com.junit.wiremock.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * In-memory pre-check for email uniqueness. A Bloom filter over every stored address answers
+ * "definitely new" without touching the database; a possible hit is confirmed with an exact
+ * lookup. Deleted addresses stay in the filter until the next rebuild and only cost an extra
+ * lookup. The unique constraint on {@code users.email} remains the authority, so a race the
+ * filter misses still ends in a duplicate-key error.
+ */
+@Slf4j
+@Component
+public class EmailIndex {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final double staleRatio;
+    private final int fetchSize;
+    private final AtomicLong removals = new AtomicLong();
+    private final Counter newEmails;
+    private final Counter falsePositives;
+    private final Counter duplicates;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter rebuilding;
+    private volatile boolean ready;
+
+    public EmailIndex(UserRepository userRepository,
+                      PlatformTransactionManager transactionManager,
+                      MeterRegistry meterRegistry,
+                      @Value("${users.email-index.enabled:true}") boolean enabled,
+                      @Value("${users.email-index.expected-insertions:1000000}") long expectedInsertions,
+                      @Value("${users.email-index.false-positive-rate:0.01}") double falsePositiveRate,
+                      @Value("${users.email-index.stale-ratio:0.2}") double staleRatio,
+                      @Value("${users.email-index.fetch-size:500}") int fetchSize) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.staleRatio = staleRatio;
+        this.fetchSize = fetchSize;
+        this.current = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.newEmails = meterRegistry.counter("users.email-index.lookups", "result", "new");
+        this.falsePositives = meterRegistry.counter("users.email-index.lookups", "result", "false-positive");
+        this.duplicates = meterRegistry.counter("users.email-index.lookups", "result", "duplicate");
+    }
+
+    /**
+     * Returns whether a user with exactly this email exists. Until the index has been loaded
+     * every address is treated as a possible hit and checked against the database.
+     */
+    public boolean isTaken(String email) {
+        if (!enabled || email == null) {
+            return false;
+        }
+        if (ready && !current.mightContain(email)) {
+            newEmails.increment();
+            return false;
+        }
+        boolean taken = userRepository.existsByEmail(email);
+        (taken ? duplicates : falsePositives).increment();
+        return taken;
+    }
+
+    public void add(String email) {
+        if (!enabled || email == null) {
+            return;
+        }
+        current.put(email);
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(email);
+        }
+    }
+
+    public void recordRemoval() {
+        removals.incrementAndGet();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (enabled) {
+            rebuild();
+            ready = true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${users.email-index.rebuild-check-interval:10m}")
+    public void rebuildIfStale() {
+        if (ready && removals.get() > staleRatio * Math.max(1, current.insertions())) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        long removalsBefore = removals.get();
+        BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveRate);
+        rebuilding = next;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> emails = userRepository.streamAllEmails(fetchSize)) {
+                    emails.forEach(next::put);
+                }
+            });
+            current = next;
+            removals.addAndGet(-removalsBefore);
+            log.info("Email index loaded with {} addresses", next.insertions());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final long bits;
+        private final int hashes;
+        private final AtomicLong insertions = new AtomicLong();
+
+        BloomFilter(long expectedInsertions, double falsePositiveRate) {
+            long size = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.max(1, (size + 63) / 64));
+            this.bits = words.length() * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+        }
+
+        void put(String email) {
+            long hash = hash(email);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bits);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long value = words.get(word);
+                while ((value & mask) == 0 && !words.compareAndSet(word, value, value | mask)) {
+                    value = words.get(word);
+                }
+            }
+            insertions.incrementAndGet();
+        }
+
+        boolean mightContain(String email) {
+            long hash = hash(email);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long insertions() {
+            return insertions.get();
+        }
+
+        /**
+         * FNV-1a over the trimmed, lower-cased address followed by a 64-bit finalizer, computed
+         * without allocating a normalized copy. Case variants share bits, which is conservative.
+         */
+        private static long hash(String email) {
+            int start = 0;
+            int end = email.length();
+            while (start < end && Character.isWhitespace(email.charAt(start))) {
+                start++;
+            }
+            while (end > start && Character.isWhitespace(email.charAt(end - 1))) {
+                end--;
+            }
+            long hash = 0xcbf29ce484222325L;
+            for (int i = start; i < end; i++) {
+                hash ^= Character.toLowerCase(email.charAt(i));
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.junit.wiremock.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.junit.wiremock.dto.EmailValidationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+@Component
+public class EmailValidationCache implements MeterBinder {
+
+    private final AsyncCache<String, EmailValidationResponse> cache;
+
+    public EmailValidationCache(@Value("${email.validation.cache.max-size:10000}") long maxSize,
+                                @Value("${email.validation.cache.valid-ttl:1h}") Duration validTtl,
+                                @Value("${email.validation.cache.invalid-ttl:5m}") Duration invalidTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String email, EmailValidationResponse response) ->
+                        response.isValid() ? validTtl : invalidTtl))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Returns the cached verdict for the address or loads it once, even when several
+     * callers ask for the same address at the same time. The loader runs on the calling
+     * thread outside of any cache lock, so a slow remote call never holds a monitor. Whatever
+     * the loader throws, {@link Error}s included, is handed to the waiting callers as well, so
+     * none of them is left blocked on the shared future.
+     */
+    public EmailValidationResponse get(String email, Function<String, EmailValidationResponse> loader) {
+        if (email == null) {
+            return loader.apply(null);
+        }
+        CompletableFuture<EmailValidationResponse> created = new CompletableFuture<>();
+        CompletableFuture<EmailValidationResponse> result = cache.get(normalize(email), (key, executor) -> created);
+        if (result == created) {
+            try {
+                created.complete(loader.apply(email));
+            } catch (Throwable e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #get}: concurrent callers for the same address share the
+     * loader's future, and a future that completes exceptionally is dropped from the cache.
+     */
+    public CompletableFuture<EmailValidationResponse> getAsync(
+            String email, Function<String, CompletableFuture<EmailValidationResponse>> loader) {
+        if (email == null) {
+            return loader.apply(null);
+        }
+        return cache.get(normalize(email), (key, executor) -> loader.apply(email));
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long hitCount() {
+        return stats().hitCount();
+    }
+
+    public long missCount() {
+        return stats().missCount();
+    }
+
+    public long evictionCount() {
+        return stats().evictionCount();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "email.validation");
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
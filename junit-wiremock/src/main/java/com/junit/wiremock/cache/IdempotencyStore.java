@@ -0,0 +1,144 @@
+package com.junit.wiremock.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.junit.wiremock.dto.UserResponse;
+import com.junit.wiremock.entity.User;
+import com.junit.wiremock.exception.IdempotencyKeyReuseException;
+import com.junit.wiremock.exception.InvalidIdempotencyKeyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Results of creates sent with an {@code Idempotency-Key}, so a retried request is answered
+ * with the user it already created instead of repeating the validation call and the insert.
+ * The first request for a key runs on its own thread; duplicates arriving meanwhile wait for
+ * it, and later ones get the stored user straight away. A failed execution is not stored, so
+ * the client can retry it.
+ * <p>
+ * Executions still running are kept apart from the bounded cache, so a full store cannot evict
+ * one and let a duplicate run the create again. Finished ones are stored as a
+ * {@link UserResponse} snapshot, and each replay gets its own copy of the user; they expire
+ * after the TTL or when the store is full.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Map<String, Execution> running = new ConcurrentHashMap<>();
+    private final Cache<String, Result> results;
+    private final Counter executed;
+    private final Counter joined;
+    private final Counter replayed;
+
+    public IdempotencyStore(MeterRegistry meterRegistry,
+                            @Value("${users.idempotency.max-size:10000}") long maxSize,
+                            @Value("${users.idempotency.ttl:24h}") Duration ttl) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "users.idempotency");
+        this.executed = requests(meterRegistry, "executed");
+        this.joined = requests(meterRegistry, "joined");
+        this.replayed = requests(meterRegistry, "replayed");
+    }
+
+    /**
+     * Runs {@code create} once per key. {@code fingerprint} identifies the request body; reusing
+     * a key for a different body is rejected rather than answered with the other user.
+     */
+    public User execute(String key, String fingerprint, Supplier<User> create) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        Execution created = new Execution(fingerprint, new CompletableFuture<>());
+        Execution execution = running.putIfAbsent(key, created);
+        if (execution == null) {
+            // A result is stored before its execution leaves the map, so this sees any that just finished
+            Result stored = results.getIfPresent(key);
+            if (stored != null) {
+                running.remove(key, created);
+                created.result().complete(stored.user());
+                return replay(key, fingerprint, stored);
+            }
+            return run(key, created, create);
+        }
+        if (!execution.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReuseException(key);
+        }
+        joined.increment();
+        try {
+            return toUser(execution.result().join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void invalidateAll() {
+        results.invalidateAll();
+    }
+
+    private User run(String key, Execution created, Supplier<User> create) {
+        executed.increment();
+        try {
+            User user = create.get();
+            UserResponse snapshot = UserResponse.from(user);
+            results.put(key, new Result(created.fingerprint(), snapshot));
+            created.result().complete(snapshot);
+            return user;
+        } catch (RuntimeException e) {
+            created.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            running.remove(key, created);
+        }
+    }
+
+    private User replay(String key, String fingerprint, Result stored) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReuseException(key);
+        }
+        replayed.increment();
+        return toUser(stored.user());
+    }
+
+    private static User toUser(UserResponse snapshot) {
+        User user = new User();
+        user.setId(snapshot.id());
+        user.setName(snapshot.name());
+        user.setEmail(snapshot.email());
+        user.setVersion(snapshot.version());
+        user.setStatus(snapshot.status());
+        user.setUpdatedAt(snapshot.updatedAt());
+        return user;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("users.idempotency.requests")
+                .description("Creates sent with an Idempotency-Key, by whether they ran, waited for or replayed a result")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Execution(String fingerprint, CompletableFuture<UserResponse> result) {
+    }
+
+    private record Result(String fingerprint, UserResponse user) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.junit.wiremock.client;
+
+import com.junit.wiremock.cache.EmailValidationCache;
+import com.junit.wiremock.dto.EmailValidationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import tools.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Non-blocking counterpart of {@link EmailValidationClient}. Requests are multiplexed by the
+ * JDK {@link HttpClient} selector, so the number of validations in flight is not tied to the
+ * number of threads; completions run on the small executor the client was built with.
+ * <p>
+ * Calls go through the same {@link EmailValidationResilience} as the blocking client, and
+ * failures are reported with the same exceptions, so retries, the circuit breaker, the
+ * bulkhead and the degraded policy behave alike on both paths.
+ */
+@Component
+@RequiredArgsConstructor
+public class AsyncEmailValidationClient {
+
+    private final HttpClient emailValidationAsyncHttpClient;
+    private final ObjectMapper objectMapper;
+    private final EmailValidationCache validationCache;
+    private final EmailValidationResilience resilience;
+    @Qualifier("emailValidationRetryScheduler")
+    private final ScheduledExecutorService retryScheduler;
+    private final MeterRegistry meterRegistry;
+    private final EmailPreValidator preValidator;
+
+    @Value("${email.validation.api.url}")
+    private String apiUrl;
+
+    @Value("${email.validation.http.read-timeout:3s}")
+    private Duration readTimeout = Duration.ofSeconds(3);
+
+    public CompletableFuture<EmailValidationResponse> validateEmail(String email) {
+        return resilience.degradeAsync(email, revalidate(email));
+    }
+
+    /**
+     * Validates without applying the degraded policy, so an unavailable API completes the
+     * future with {@link com.junit.wiremock.exception.EmailValidationUnavailableException}.
+     */
+    public CompletableFuture<EmailValidationResponse> revalidate(String email) {
+        return preValidator.validate(email)
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> validationCache.getAsync(email, key ->
+                        resilience.executeAsync(retryScheduler, () -> requestValidation(key))
+                                .thenApply(response -> preValidator.remember(key, response))));
+    }
+
+    private CompletableFuture<EmailValidationResponse> requestValidation(String email) {
+        HttpRequest request = HttpRequest.newBuilder(EmailValidationClient.validationUri(apiUrl, email))
+                .timeout(readTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<EmailValidationResponse> result = new CompletableFuture<>();
+        emailValidationAsyncHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(this::readResponse)
+                .whenComplete((response, error) -> {
+                    Throwable cause = error == null ? null : EmailValidationResilience.unwrap(error);
+                    sample.stop(meterRegistry.timer("email.validation.requests", "outcome", outcome(response, cause)));
+                    if (cause == null) {
+                        result.complete(response);
+                    } else if (cause instanceof IOException transportError) {
+                        result.completeExceptionally(new ResourceAccessException(
+                                "I/O error on GET request for email validation: " + transportError.getMessage(), transportError));
+                    } else {
+                        result.completeExceptionally(cause);
+                    }
+                });
+        return result;
+    }
+
+    private EmailValidationResponse readResponse(HttpResponse<byte[]> response) {
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        if (status.is5xxServerError()) {
+            throw HttpServerErrorException.create(status, "Email validation failed", HttpHeaders.EMPTY, response.body(), null);
+        }
+        if (status.is4xxClientError()) {
+            throw HttpClientErrorException.create(status, "Email validation failed", HttpHeaders.EMPTY, response.body(), null);
+        }
+        if (!status.is2xxSuccessful()) {
+            throw new RuntimeException("Email validation failed with status " + response.statusCode());
+        }
+        EmailValidationResponse validation = objectMapper.readValue(response.body(), EmailValidationResponse.class);
+        if (validation == null) {
+            throw new RuntimeException("Email validation returned an empty body");
+        }
+        return validation;
+    }
+
+    private static String outcome(EmailValidationResponse response, Throwable error) {
+        if (error == null) {
+            return response.isValid() ? "valid" : "invalid";
+        }
+        return error instanceof HttpTimeoutException ? "timeout" : "error";
+    }
+}
@@ -0,0 +1,190 @@
+package com.junit.wiremock.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.junit.wiremock.dto.EmailValidationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Answers what can be decided without the remote API, so only genuinely uncertain addresses
+ * reach the network: malformed addresses, disposable domains from the configured lists,
+ * domains the API has recently rejected as a whole, and trusted domains that are accepted
+ * outright. A domain the API accepted is not remembered as good, since the API also rejects
+ * individual mailboxes on otherwise valid domains.
+ */
+@Slf4j
+@Component
+public class EmailPreValidator {
+
+    private final boolean enabled;
+    private final Set<String> disposableDomains;
+    private final Set<String> trustedDomains;
+    private final List<String> domainRejectionReasons;
+    private final Cache<String, String> rejectedDomains;
+    private final Counter invalidSyntax;
+    private final Counter disposableDomain;
+    private final Counter rejectedDomain;
+    private final Counter trustedDomain;
+
+    public EmailPreValidator(MeterRegistry meterRegistry,
+                             @Value("${email.validation.local.enabled:true}") boolean enabled,
+                             @Value("${email.validation.local.disposable-domains:classpath:email/disposable-domains.txt}") Resource[] disposableDomainLists,
+                             @Value("${email.validation.local.trusted-domains:}") List<String> trustedDomains,
+                             @Value("${email.validation.local.domain-rejection-reasons:Domain does not exist}") List<String> domainRejectionReasons,
+                             @Value("${email.validation.local.rejected-domain-ttl:1h}") Duration rejectedDomainTtl,
+                             @Value("${email.validation.local.rejected-domain-max-size:10000}") long rejectedDomainMaxSize) {
+        this.enabled = enabled;
+        this.disposableDomains = loadDomains(disposableDomainLists);
+        this.trustedDomains = normalize(trustedDomains);
+        this.domainRejectionReasons = domainRejectionReasons.stream()
+                .map(reason -> reason.strip().toLowerCase(Locale.ROOT))
+                .filter(reason -> !reason.isEmpty())
+                .toList();
+        this.rejectedDomains = Caffeine.newBuilder()
+                .maximumSize(rejectedDomainMaxSize)
+                .expireAfterWrite(rejectedDomainTtl)
+                .build();
+        this.invalidSyntax = avoidedCalls(meterRegistry, "invalid-syntax");
+        this.disposableDomain = avoidedCalls(meterRegistry, "disposable-domain");
+        this.rejectedDomain = avoidedCalls(meterRegistry, "rejected-domain");
+        this.trustedDomain = avoidedCalls(meterRegistry, "trusted-domain");
+    }
+
+    /** Returns the verdict when it can be reached locally, or empty when the remote API has to decide. */
+    public Optional<EmailValidationResponse> validate(String email) {
+        if (!enabled || email == null) {
+            return Optional.empty();
+        }
+        String address = email.trim();
+        EmailSyntax.Result syntax = EmailSyntax.check(address);
+        if (syntax != EmailSyntax.Result.VALID) {
+            invalidSyntax.increment();
+            return Optional.of(response(email, false, syntax.reason()));
+        }
+        String domain = domainOf(address);
+        if (matches(disposableDomains, domain)) {
+            disposableDomain.increment();
+            return Optional.of(response(email, false, "Disposable email domain"));
+        }
+        String rejection = rejectedDomains.getIfPresent(domain);
+        if (rejection != null) {
+            rejectedDomain.increment();
+            return Optional.of(response(email, false, rejection));
+        }
+        if (matches(trustedDomains, domain)) {
+            trustedDomain.increment();
+            return Optional.of(response(email, true, "Trusted domain"));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Remembers the domain when the remote verdict rejects the domain itself, so later
+     * addresses on it are answered locally. Returns the verdict for chaining.
+     */
+    public EmailValidationResponse remember(String email, EmailValidationResponse response) {
+        if (enabled && email != null && response != null && !response.isValid() && isDomainRejection(response.getReason())) {
+            String address = email.trim();
+            if (EmailSyntax.isValid(address)) {
+                rejectedDomains.put(domainOf(address), response.getReason());
+            }
+        }
+        return response;
+    }
+
+    public void forgetRejectedDomains() {
+        rejectedDomains.invalidateAll();
+    }
+
+    private boolean isDomainRejection(String reason) {
+        if (reason == null) {
+            return false;
+        }
+        String normalized = reason.toLowerCase(Locale.ROOT);
+        for (String domainRejectionReason : domainRejectionReasons) {
+            if (normalized.contains(domainRejectionReason)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Matches the domain itself or any parent domain, so sub.mailinator.com counts as mailinator.com. */
+    private static boolean matches(Set<String> domains, String domain) {
+        if (domains.isEmpty()) {
+            return false;
+        }
+        String candidate = domain;
+        while (!domains.contains(candidate)) {
+            int dot = candidate.indexOf('.');
+            if (dot < 0) {
+                return false;
+            }
+            candidate = candidate.substring(dot + 1);
+        }
+        return true;
+    }
+
+    private static String domainOf(String address) {
+        return address.substring(address.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static EmailValidationResponse response(String email, boolean valid, String reason) {
+        EmailValidationResponse response = new EmailValidationResponse();
+        response.setEmail(email);
+        response.setValid(valid);
+        response.setReason(reason);
+        return response;
+    }
+
+    private static Counter avoidedCalls(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("email.validation.remote.avoided")
+                .description("Email validations answered locally instead of by the remote API")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static Set<String> normalize(List<String> domains) {
+        Set<String> normalized = new HashSet<>();
+        for (String domain : domains) {
+            String trimmed = domain.strip().toLowerCase(Locale.ROOT);
+            if (!trimmed.isEmpty()) {
+                normalized.add(trimmed);
+            }
+        }
+        return Set.copyOf(normalized);
+    }
+
+    /** One domain per line; blank lines and lines starting with {@code #} are skipped. */
+    private static Set<String> loadDomains(Resource[] lists) {
+        Set<String> domains = new HashSet<>();
+        for (Resource list : lists) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(list.getInputStream(), StandardCharsets.UTF_8))) {
+                reader.lines()
+                        .map(line -> line.strip().toLowerCase(Locale.ROOT))
+                        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                        .forEach(domains::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read disposable domain list " + list, e);
+            }
+        }
+        log.info("Loaded {} disposable email domains", domains.size());
+        return Set.copyOf(domains);
+    }
+}
@@ -0,0 +1,161 @@
+package com.junit.wiremock.client;
+
+/**
+ * Single-pass mailbox syntax check after RFC 5321/5322: a dot-atom or quoted-string local part
+ * of at most 64 characters, and a domain of at most 253 characters that is either a host name
+ * with at least two labels or an address literal. Characters outside ASCII are accepted as
+ * RFC 6531 allows. Nothing is allocated, so it is cheap enough to run before every lookup.
+ */
+public final class EmailSyntax {
+
+    private static final int MAX_LENGTH = 254;
+    private static final int MAX_LOCAL_PART = 64;
+    private static final int MAX_DOMAIN = 253;
+    private static final int MAX_LABEL = 63;
+    private static final String ATEXT_SPECIALS = "!#$%&'*+-/=?^_`{|}~";
+
+    public enum Result {
+        VALID(null),
+        EMPTY("Email is empty"),
+        TOO_LONG("Email is longer than 254 characters"),
+        INVALID_LOCAL_PART("Invalid local part"),
+        LOCAL_PART_TOO_LONG("Local part is longer than 64 characters"),
+        MISSING_AT("Missing @"),
+        INVALID_DOMAIN("Invalid domain"),
+        DOMAIN_TOO_LONG("Domain is longer than 253 characters");
+
+        private final String reason;
+
+        Result(String reason) {
+            this.reason = reason;
+        }
+
+        public String reason() {
+            return reason;
+        }
+    }
+
+    private EmailSyntax() {
+    }
+
+    public static Result check(CharSequence email) {
+        int length = email == null ? 0 : email.length();
+        if (length == 0) {
+            return Result.EMPTY;
+        }
+        if (length > MAX_LENGTH) {
+            return Result.TOO_LONG;
+        }
+        int at = email.charAt(0) == '"' ? quotedLocalPartEnd(email) : dotAtomEnd(email);
+        if (at < 0) {
+            return Result.INVALID_LOCAL_PART;
+        }
+        if (at == length) {
+            return Result.MISSING_AT;
+        }
+        if (email.charAt(at) != '@') {
+            return Result.INVALID_LOCAL_PART;
+        }
+        if (at > MAX_LOCAL_PART) {
+            return Result.LOCAL_PART_TOO_LONG;
+        }
+        int domainStart = at + 1;
+        if (length - domainStart > MAX_DOMAIN) {
+            return Result.DOMAIN_TOO_LONG;
+        }
+        boolean valid = domainStart < length && email.charAt(domainStart) == '['
+                ? isAddressLiteral(email, domainStart)
+                : isHostName(email, domainStart);
+        return valid ? Result.VALID : Result.INVALID_DOMAIN;
+    }
+
+    public static boolean isValid(CharSequence email) {
+        return check(email) == Result.VALID;
+    }
+
+    /** Index just past a dot-atom starting at 0, or -1 when the dots are misplaced. */
+    private static int dotAtomEnd(CharSequence email) {
+        int i = 0;
+        char previous = '.';
+        for (; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (previous == '.') {
+                    return -1;
+                }
+            } else if (!isAtext(c)) {
+                break;
+            }
+            previous = c;
+        }
+        return i == 0 || previous == '.' ? -1 : i;
+    }
+
+    /** Index just past a quoted string starting at 0, or -1 when it is unterminated or holds control characters. */
+    private static int quotedLocalPartEnd(CharSequence email) {
+        for (int i = 1; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '"') {
+                return i + 1;
+            }
+            if (c == '\\') {
+                i++;
+                if (i == email.length() || email.charAt(i) < 32 || email.charAt(i) == 127) {
+                    return -1;
+                }
+            } else if (c < 32 || c == 127) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isHostName(CharSequence email, int start) {
+        int labels = 0;
+        int labelStart = start;
+        boolean numericLabel = true;
+        for (int i = start; i <= email.length(); i++) {
+            char c = i == email.length() ? '.' : email.charAt(i);
+            if (c == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > MAX_LABEL
+                        || email.charAt(labelStart) == '-' || email.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labels++;
+                if (i == email.length()) {
+                    break;
+                }
+                labelStart = i + 1;
+                numericLabel = true;
+            } else if (isLetterOrDigit(c) || c == '-' || c >= 0x80) {
+                numericLabel &= c >= '0' && c <= '9';
+            } else {
+                return false;
+            }
+        }
+        return labels >= 2 && !numericLabel;
+    }
+
+    private static boolean isAddressLiteral(CharSequence email, int start) {
+        int end = email.length() - 1;
+        if (end - start < 2 || email.charAt(end) != ']') {
+            return false;
+        }
+        for (int i = start + 1; i < end; i++) {
+            char c = email.charAt(i);
+            if (c < 33 || c > 126 || c == '[' || c == ']' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAtext(char c) {
+        return isLetterOrDigit(c) || c >= 0x80 || ATEXT_SPECIALS.indexOf(c) >= 0;
+    }
+
+    private static boolean isLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+}
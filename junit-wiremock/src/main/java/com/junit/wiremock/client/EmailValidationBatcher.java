@@ -0,0 +1,204 @@
+package com.junit.wiremock.client;
+
+import com.junit.wiremock.dto.EmailValidationBatchRequest;
+import com.junit.wiremock.dto.EmailValidationBatchResponse;
+import com.junit.wiremock.dto.EmailValidationResponse;
+import com.junit.wiremock.exception.EmailValidationUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalesces concurrent single-address validations into one call to the batch endpoint. A batch
+ * is sent once it holds {@code max-size} addresses or the first address has waited for
+ * {@code window}, whichever comes first.
+ * <p>
+ * An empty result tells the caller to validate the address with a single request: batching is
+ * disabled, the provider does not offer a batch endpoint, or the batch response left it out.
+ */
+@Slf4j
+@Component
+public class EmailValidationBatcher {
+
+    private static final Set<Integer> UNSUPPORTED_STATUSES = Set.of(404, 405, 501);
+
+    private final RestTemplate restTemplate;
+    private final EmailValidationResilience resilience;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService sender;
+    private final String apiUrl;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Duration window;
+    private final Duration unsupportedBackoff;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<PendingValidation> pending = new ArrayList<>();
+    private ScheduledFuture<?> windowTimer;
+    private volatile Instant batchingResumesAt = Instant.MIN;
+
+    public EmailValidationBatcher(RestTemplate restTemplate,
+                                  EmailValidationResilience resilience,
+                                  MeterRegistry meterRegistry,
+                                  @Qualifier("emailValidationBatchScheduler") ScheduledExecutorService scheduler,
+                                  @Qualifier("emailValidationBatchExecutor") ExecutorService sender,
+                                  @Value("${email.validation.api.url}") String apiUrl,
+                                  @Value("${email.validation.batch.enabled:false}") boolean enabled,
+                                  @Value("${email.validation.batch.max-size:50}") int maxBatchSize,
+                                  @Value("${email.validation.batch.window:10ms}") Duration window,
+                                  @Value("${email.validation.batch.unsupported-backoff:5m}") Duration unsupportedBackoff) {
+        this.restTemplate = restTemplate;
+        this.resilience = resilience;
+        this.meterRegistry = meterRegistry;
+        this.scheduler = scheduler;
+        this.sender = sender;
+        this.apiUrl = apiUrl;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.window = window;
+        this.unsupportedBackoff = unsupportedBackoff;
+    }
+
+    /**
+     * Blocks until the batch holding this address has been answered. Failures of the batch
+     * request, such as {@link EmailValidationUnavailableException}, are rethrown to every caller.
+     */
+    public Optional<EmailValidationResponse> validate(String email) {
+        if (!enabled || email == null || Instant.now().isBefore(batchingResumesAt)) {
+            return Optional.empty();
+        }
+        try {
+            return submit(email).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Optional<EmailValidationResponse>> submit(String email) {
+        PendingValidation validation = new PendingValidation(email, new CompletableFuture<>());
+        List<PendingValidation> full = null;
+        lock.lock();
+        try {
+            pending.add(validation);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (pending.size() == 1) {
+                windowTimer = scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return validation.result();
+    }
+
+    private void flush() {
+        List<PendingValidation> batch;
+        lock.lock();
+        try {
+            batch = takePending();
+        } finally {
+            lock.unlock();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private List<PendingValidation> takePending() {
+        List<PendingValidation> batch = pending;
+        pending = new ArrayList<>();
+        if (windowTimer != null) {
+            windowTimer.cancel(false);
+            windowTimer = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(List<PendingValidation> batch) {
+        try {
+            sender.execute(() -> send(batch));
+        } catch (RejectedExecutionException e) {
+            batch.forEach(validation -> validation.result().complete(Optional.empty()));
+        }
+    }
+
+    private void send(List<PendingValidation> batch) {
+        List<String> emails = batch.stream().map(PendingValidation::email).distinct().toList();
+        meterRegistry.summary("email.validation.batch.size").record(emails.size());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            EmailValidationBatchResponse response = resilience.execute(() -> restTemplate.postForObject(
+                    apiUrl + "/validate/batch", new EmailValidationBatchRequest(emails), EmailValidationBatchResponse.class));
+            Map<String, EmailValidationResponse> results = byEmail(response);
+            batch.forEach(validation -> validation.result()
+                    .complete(Optional.ofNullable(results.get(normalize(validation.email())))));
+            outcome = "success";
+        } catch (RuntimeException e) {
+            if (isUnsupported(e)) {
+                outcome = "unsupported";
+                batchingResumesAt = Instant.now().plus(unsupportedBackoff);
+                log.info("Batch email validation is not available, using single requests for {}", unsupportedBackoff);
+                batch.forEach(validation -> validation.result().complete(Optional.empty()));
+            } else {
+                batch.forEach(validation -> validation.result().completeExceptionally(e));
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("email.validation.batches", "outcome", outcome));
+        }
+    }
+
+    private static Map<String, EmailValidationResponse> byEmail(EmailValidationBatchResponse response) {
+        Map<String, EmailValidationResponse> results = new HashMap<>();
+        if (response != null && response.results() != null) {
+            for (EmailValidationResponse result : response.results()) {
+                if (result != null && result.getEmail() != null) {
+                    results.put(normalize(result.getEmail()), result);
+                }
+            }
+        }
+        return results;
+    }
+
+    private static boolean isUnsupported(RuntimeException error) {
+        Throwable cause = error instanceof EmailValidationUnavailableException ? error.getCause() : error;
+        return cause instanceof HttpStatusCodeException statusError
+                && UNSUPPORTED_STATUSES.contains(statusError.getStatusCode().value());
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record PendingValidation(String email, CompletableFuture<Optional<EmailValidationResponse>> result) {
+    }
+}
@@ -1,22 +1,82 @@
 package com.junit.wiremock.client;
 
+import com.junit.wiremock.cache.EmailValidationCache;
 import com.junit.wiremock.dto.EmailValidationResponse;
+import com.junit.wiremock.exception.EmailValidationUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import java.io.InterruptedIOException;
+import java.net.URI;
 
 @Component
 @RequiredArgsConstructor
 public class EmailValidationClient {
 
     private final RestTemplate restTemplate;
-    
+    private final EmailValidationCache validationCache;
+    private final EmailValidationResilience resilience;
+    private final EmailValidationBatcher batcher;
+    private final MeterRegistry meterRegistry;
+    private final EmailPreValidator preValidator;
+
     @Value("${email.validation.api.url}")
     private String apiUrl;
 
     public EmailValidationResponse validateEmail(String email) {
-        String url = apiUrl + "/validate?email=" + email;
-        return restTemplate.getForObject(url, EmailValidationResponse.class);
+        try {
+            return revalidate(email);
+        } catch (EmailValidationUnavailableException e) {
+            return resilience.degrade(email, e);
+        }
+    }
+
+    /**
+     * Validates without applying the degraded policy, so an unavailable API surfaces as
+     * {@link EmailValidationUnavailableException}. Degraded verdicts are never cached. Concurrent
+     * misses are coalesced into batch requests when the provider supports them. Addresses the
+     * {@link EmailPreValidator} can decide locally never reach the cache or the API.
+     */
+    public EmailValidationResponse revalidate(String email) {
+        return preValidator.validate(email).orElseGet(() -> validationCache.get(email, key -> preValidator.remember(key,
+                batcher.validate(key).orElseGet(() -> resilience.execute(() -> requestValidation(key))))));
+    }
+
+    /**
+     * The address goes in as a URI variable, which is encoded strictly: {@code +}, {@code &},
+     * {@code #} and the spaces of a quoted local part reach the API as the caller sent them.
+     */
+    static URI validationUri(String apiUrl, String email) {
+        return UriComponentsBuilder.fromUriString(apiUrl)
+                .path("/validate")
+                .queryParam("email", "{email}")
+                .encode()
+                .buildAndExpand(email)
+                .toUri();
+    }
+
+    private EmailValidationResponse requestValidation(String email) {
+        URI url = validationUri(apiUrl, email);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            EmailValidationResponse response = restTemplate.getForObject(url, EmailValidationResponse.class);
+            if (response != null) {
+                outcome = response.isValid() ? "valid" : "invalid";
+            }
+            return response;
+        } catch (ResourceAccessException e) {
+            if (e.getCause() instanceof InterruptedIOException) {
+                outcome = "timeout";
+            }
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("email.validation.requests", "outcome", outcome));
+        }
     }
 }
@@ -0,0 +1,120 @@
+package com.junit.wiremock.client;
+
+import com.junit.wiremock.dto.EmailValidationResponse;
+import com.junit.wiremock.exception.EmailValidationUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Guards calls to the email validation API with a retry, a circuit breaker and a bulkhead, in
+ * that order from the outside in, and applies the degraded policy when the API is unavailable.
+ */
+@Slf4j
+@Component
+public class EmailValidationResilience {
+
+    public enum DegradedPolicy {
+        /** Fail fast with a 503 while the API is unavailable. */
+        REJECT,
+        /** Accept the address provisionally; the user is stored as pending and revalidated once the API recovers. */
+        ACCEPT
+    }
+
+    static final String DEGRADED_REASON = "Accepted while email validation is unavailable";
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+    private final DegradedPolicy degradedPolicy;
+
+    public EmailValidationResilience(CircuitBreaker emailValidationCircuitBreaker,
+                                     Bulkhead emailValidationBulkhead,
+                                     Retry emailValidationRetry,
+                                     @Value("${email.validation.resilience.degraded-policy:reject}") DegradedPolicy degradedPolicy) {
+        this.circuitBreaker = emailValidationCircuitBreaker;
+        this.bulkhead = emailValidationBulkhead;
+        this.retry = emailValidationRetry;
+        this.degradedPolicy = degradedPolicy;
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        Supplier<T> guarded = Retry.decorateSupplier(retry,
+                CircuitBreaker.decorateSupplier(circuitBreaker,
+                        Bulkhead.decorateSupplier(bulkhead, call)));
+        try {
+            return guarded.get();
+        } catch (CallNotPermittedException | BulkheadFullException | ResourceAccessException
+                 | HttpServerErrorException e) {
+            throw unavailable(e);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute}: the stage is guarded by the same retry, circuit
+     * breaker and bulkhead, and fails with {@link EmailValidationUnavailableException} in the
+     * same cases. The bulkhead rejects at once rather than waiting for a permit, and backoffs
+     * between attempts are scheduled on {@code scheduler}.
+     */
+    public <T> CompletableFuture<T> executeAsync(ScheduledExecutorService scheduler, Supplier<CompletionStage<T>> call) {
+        Supplier<CompletionStage<T>> guarded = Retry.decorateCompletionStage(retry, scheduler,
+                CircuitBreaker.decorateCompletionStage(circuitBreaker,
+                        Bulkhead.decorateCompletionStage(bulkhead, call)));
+        CompletableFuture<T> result = new CompletableFuture<>();
+        guarded.get().whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = unwrap(error);
+            boolean unavailable = cause instanceof CallNotPermittedException || cause instanceof BulkheadFullException
+                    || cause instanceof ResourceAccessException || cause instanceof HttpServerErrorException;
+            result.completeExceptionally(unavailable ? unavailable(cause) : cause);
+        });
+        return result;
+    }
+
+    public EmailValidationResponse degrade(String email, EmailValidationUnavailableException error) {
+        if (degradedPolicy == DegradedPolicy.REJECT || email == null) {
+            throw error;
+        }
+        log.debug("Email validation is unavailable, accepting {} provisionally", email);
+        EmailValidationResponse response = new EmailValidationResponse();
+        response.setEmail(email);
+        response.setValid(true);
+        response.setReason(DEGRADED_REASON);
+        response.setProvisional(true);
+        return response;
+    }
+
+    /** {@link #degrade} for a validation that completes later. */
+    public CompletableFuture<EmailValidationResponse> degradeAsync(String email,
+                                                                   CompletableFuture<EmailValidationResponse> validation) {
+        return validation.exceptionally(error -> {
+            if (unwrap(error) instanceof EmailValidationUnavailableException unavailable) {
+                return degrade(email, unavailable);
+            }
+            throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+        });
+    }
+
+    static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static EmailValidationUnavailableException unavailable(Throwable error) {
+        return new EmailValidationUnavailableException("Email validation is unavailable: " + error.getMessage(), error);
+    }
+}
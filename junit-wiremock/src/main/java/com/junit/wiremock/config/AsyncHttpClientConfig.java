@@ -0,0 +1,41 @@
+package com.junit.wiremock.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+@Configuration
+public class AsyncHttpClientConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService emailValidationAsyncExecutor(
+            @Value("${email.validation.async.threads:4}") int threads,
+            Environment environment) {
+        return Executors.newFixedThreadPool(threads, ExecutorConfig.threadFactory("email-validation-async-", environment));
+    }
+
+    /** Only schedules the backoff between async retries; the retried request itself is non-blocking. */
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService emailValidationRetryScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("email-validation-retry-"));
+    }
+
+    @Bean
+    public HttpClient emailValidationAsyncHttpClient(
+            @Qualifier("emailValidationAsyncExecutor") ExecutorService executor,
+            @Value("${email.validation.http.connect-timeout:2s}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+    }
+}
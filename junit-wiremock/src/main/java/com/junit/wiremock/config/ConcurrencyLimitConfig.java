@@ -0,0 +1,66 @@
+package com.junit.wiremock.config;
+
+import com.junit.wiremock.limit.AdaptiveConcurrencyLimiter;
+import com.junit.wiremock.limit.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "users.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter userReadLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${users.concurrency-limit.reads.initial-limit:50}") int initialLimit,
+            @Value("${users.concurrency-limit.reads.min-limit:10}") int minLimit,
+            @Value("${users.concurrency-limit.reads.max-limit:200}") int maxLimit,
+            @Value("${users.concurrency-limit.rtt-tolerance:1.5}") double rttTolerance,
+            @Value("${users.concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${users.concurrency-limit.baseline-windows:100}") int baselineWindows,
+            @Value("${users.concurrency-limit.sample-window:100ms}") Duration sampleWindow,
+            @Value("${users.concurrency-limit.min-window-samples:10}") int minWindowSamples) {
+        return new AdaptiveConcurrencyLimiter("reads", meterRegistry, initialLimit, minLimit, maxLimit,
+                rttTolerance, smoothing, baselineWindows, sampleWindow, minWindowSamples);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter userWriteLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${users.concurrency-limit.writes.initial-limit:20}") int initialLimit,
+            @Value("${users.concurrency-limit.writes.min-limit:4}") int minLimit,
+            @Value("${users.concurrency-limit.writes.max-limit:100}") int maxLimit,
+            @Value("${users.concurrency-limit.rtt-tolerance:1.5}") double rttTolerance,
+            @Value("${users.concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${users.concurrency-limit.baseline-windows:100}") int baselineWindows,
+            @Value("${users.concurrency-limit.sample-window:100ms}") Duration sampleWindow,
+            @Value("${users.concurrency-limit.min-window-samples:10}") int minWindowSamples) {
+        return new AdaptiveConcurrencyLimiter("writes", meterRegistry, initialLimit, minLimit, maxLimit,
+                rttTolerance, smoothing, baselineWindows, sampleWindow, minWindowSamples);
+    }
+
+    /** Runs ahead of the other filters so rejected requests cost as little as possible. */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter userReadLimiter,
+            AdaptiveConcurrencyLimiter userWriteLimiter,
+            @Value("${users.concurrency-limit.url-patterns:/api/*}") List<String> urlPatterns,
+            @Value("${users.concurrency-limit.excluded-paths:/api/users/export,/api/users/bulk}") List<String> excludedPaths,
+            @Value("${users.concurrency-limit.excluded-list-paths:/api/users}") List<String> excludedListPaths,
+            @Value("${users.concurrency-limit.rejection-status:503}") int rejectionStatus,
+            @Value("${users.concurrency-limit.retry-after:1s}") Duration retryAfter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(userReadLimiter, userWriteLimiter, excludedPaths, excludedListPaths, rejectionStatus, retryAfter));
+        registration.setUrlPatterns(urlPatterns);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+}
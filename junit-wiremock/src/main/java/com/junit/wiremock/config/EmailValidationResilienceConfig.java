@@ -0,0 +1,147 @@
+package com.junit.wiremock.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import java.io.InterruptedIOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+
+@Configuration
+public class EmailValidationResilienceConfig {
+
+    public static final String EMAIL_VALIDATION = "emailValidation";
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry() {
+        return CircuitBreakerRegistry.ofDefaults();
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry() {
+        return BulkheadRegistry.ofDefaults();
+    }
+
+    @Bean
+    public RetryRegistry retryRegistry() {
+        return RetryRegistry.ofDefaults();
+    }
+
+    @Bean
+    public CircuitBreaker emailValidationCircuitBreaker(
+            CircuitBreakerRegistry registry,
+            @Value("${email.validation.resilience.circuit-breaker.sliding-window:10s}") Duration slidingWindow,
+            @Value("${email.validation.resilience.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${email.validation.resilience.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${email.validation.resilience.circuit-breaker.slow-call-duration:2s}") Duration slowCallDuration,
+            @Value("${email.validation.resilience.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+            @Value("${email.validation.resilience.circuit-breaker.open-duration:15s}") Duration openDuration,
+            @Value("${email.validation.resilience.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        return registry.circuitBreaker(EMAIL_VALIDATION, circuitBreakerConfig(slidingWindow, minimumCalls,
+                failureRateThreshold, slowCallDuration, slowCallRateThreshold, openDuration, halfOpenCalls));
+    }
+
+    @Bean
+    public Bulkhead emailValidationBulkhead(
+            BulkheadRegistry registry,
+            @Value("${email.validation.resilience.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${email.validation.resilience.bulkhead.max-wait:50ms}") Duration maxWait) {
+        return registry.bulkhead(EMAIL_VALIDATION, bulkheadConfig(maxConcurrentCalls, maxWait));
+    }
+
+    @Bean
+    public Retry emailValidationRetry(
+            RetryRegistry registry,
+            @Value("${email.validation.resilience.retry.max-attempts:3}") int maxAttempts,
+            @Value("${email.validation.resilience.retry.initial-backoff:100ms}") Duration initialBackoff,
+            @Value("${email.validation.resilience.retry.multiplier:2.0}") double multiplier,
+            @Value("${email.validation.resilience.retry.jitter:0.5}") double jitter) {
+        return registry.retry(EMAIL_VALIDATION, retryConfig(maxAttempts, initialBackoff, multiplier, jitter));
+    }
+
+    @Bean
+    public MeterBinder emailValidationResilienceMetrics(CircuitBreakerRegistry circuitBreakers,
+                                                        BulkheadRegistry bulkheads,
+                                                        RetryRegistry retries) {
+        return registry -> {
+            TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(registry);
+            TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(registry);
+            TaggedRetryMetrics.ofRetryRegistry(retries).bindTo(registry);
+        };
+    }
+
+    /**
+     * Time-based rolling window: the breaker opens once enough of the recent calls failed or
+     * were slow. Client errors (4xx) are the caller's fault and never count against the API.
+     */
+    public static CircuitBreakerConfig circuitBreakerConfig(Duration slidingWindow, int minimumCalls,
+                                                            float failureRateThreshold, Duration slowCallDuration,
+                                                            float slowCallRateThreshold, Duration openDuration,
+                                                            int halfOpenCalls) {
+        return CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.TIME_BASED)
+                .slidingWindowSize((int) Math.max(1, slidingWindow.toSeconds()))
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(false)
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build();
+    }
+
+    public static BulkheadConfig bulkheadConfig(int maxConcurrentCalls, Duration maxWait) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build();
+    }
+
+    /**
+     * Validation is a GET, but only failures that are both transient and cheap are retried:
+     * refused or reset connections and 502/503/504. Read timeouts already cost the full timeout
+     * and an open breaker or full bulkhead means we are shedding load, so neither is retried.
+     */
+    public static RetryConfig retryConfig(int maxAttempts, Duration initialBackoff, double multiplier, double jitter) {
+        return RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(initialBackoff, multiplier, jitter))
+                .retryOnException(EmailValidationResilienceConfig::isTransient)
+                .build();
+    }
+
+    static boolean isTransient(Throwable error) {
+        if (error instanceof CallNotPermittedException || error instanceof BulkheadFullException) {
+            return false;
+        }
+        if (error instanceof ResourceAccessException) {
+            return !(error.getCause() instanceof InterruptedIOException || error.getCause() instanceof HttpTimeoutException);
+        }
+        if (error instanceof HttpServerErrorException serverError) {
+            int status = serverError.getStatusCode().value();
+            return status == 502 || status == 503 || status == 504;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,58 @@
+package com.junit.wiremock.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService emailValidationExecutor(
+            @Value("${users.bulk-import.validation-concurrency:16}") int concurrency,
+            Environment environment) {
+        return Executors.newFixedThreadPool(concurrency, threadFactory("email-validation-", environment));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService emailValidationBatchScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("email-validation-batch-timer-"));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService emailValidationBatchExecutor(Environment environment) {
+        return Executors.newCachedThreadPool(threadFactory("email-validation-batch-", environment));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService emailValidationWriteBehindExecutor(
+            @Value("${users.create.write-behind.workers:2}") int workers,
+            Environment environment) {
+        return Executors.newFixedThreadPool(workers, threadFactory("email-validation-write-behind-", environment));
+    }
+
+    /**
+     * Runs the inserts of async creates, off the few threads that complete every in-flight
+     * validation response. Sized for the connection pool: more threads would only queue for it.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService userAsyncWriteExecutor(
+            @Value("${users.create.async.write-threads:10}") int threads,
+            Environment environment) {
+        return Executors.newFixedThreadPool(threads, threadFactory("user-async-write-", environment));
+    }
+
+    static ThreadFactory threadFactory(String prefix, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Thread.ofVirtual().name(prefix, 0).factory();
+        }
+        return new CustomizableThreadFactory(prefix);
+    }
+}
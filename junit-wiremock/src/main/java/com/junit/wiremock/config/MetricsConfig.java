@@ -0,0 +1,16 @@
+package com.junit.wiremock.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder emailValidationConnectionPoolMetrics(PoolingHttpClientConnectionManager emailValidationConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(emailValidationConnectionManager, "email-validation");
+    }
+}
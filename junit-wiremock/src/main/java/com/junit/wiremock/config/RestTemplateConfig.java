@@ -1,14 +1,64 @@
 package com.junit.wiremock.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import java.time.Duration;
 
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public PoolingHttpClientConnectionManager emailValidationConnectionManager(
+            @Value("${email.validation.http.max-total:100}") int maxTotal,
+            @Value("${email.validation.http.max-per-route:20}") int maxPerRoute,
+            @Value("${email.validation.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${email.validation.http.read-timeout:3s}") Duration readTimeout,
+            @Value("${email.validation.http.time-to-live:5m}") Duration timeToLive) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpClient emailValidationHttpClient(
+            PoolingHttpClientConnectionManager emailValidationConnectionManager,
+            @Value("${email.validation.http.read-timeout:3s}") Duration readTimeout,
+            @Value("${email.validation.http.connection-request-timeout:500ms}") Duration connectionRequestTimeout,
+            @Value("${email.validation.http.keep-alive:30s}") Duration keepAlive,
+            @Value("${email.validation.http.idle-eviction:30s}") Duration idleEviction) {
+        return HttpClients.custom()
+                .setConnectionManager(emailValidationConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                // Retries belong to EmailValidationResilience, which backs off with jitter and counts them
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient emailValidationHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(emailValidationHttpClient));
     }
 }
@@ -0,0 +1,14 @@
+package com.junit.wiremock.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the application's background jobs: the email index rebuild check, the write-behind
+ * recovery sweep, the revalidation of users accepted while email validation was down and the
+ * pruning of old change feed tombstones.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,34 @@
+package com.junit.wiremock.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.cache.metrics.CacheMetricsRegistrar;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Beans that stay eager when the {@code startup} profile turns on lazy initialisation: the
+ * controllers, and through them the whole request path, so the first request does not pay for
+ * wiring it; components with {@code @Scheduled} methods, whose tasks are only registered once
+ * the bean exists; and the cache metrics registrar, whose configuration binds the caches to the
+ * meter registry when it is created.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (AnnotatedElementUtils.hasAnnotation(beanType, Controller.class)
+                || hasScheduledMethods(beanType)
+                || CacheMetricsRegistrar.class.isAssignableFrom(beanType));
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        return !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
@@ -1,33 +1,136 @@
 package com.junit.wiremock.controller;
 
+import com.junit.wiremock.dto.BulkImportResult;
+import com.junit.wiremock.dto.UserChangePage;
+import com.junit.wiremock.dto.UserPage;
+import com.junit.wiremock.dto.UserResponse;
+import com.junit.wiremock.dto.UserSearchPage;
 import com.junit.wiremock.entity.User;
 import com.junit.wiremock.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
-    
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * Streams the users from a projection query as a JSON array instead of serialising a
+     * materialised list of entities. The ETag is the change feed's last committed sequence
+     * number, so a poll that matches it is answered with 304 without touching the table.
+     */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<StreamingResponseBody> getAllUsers(WebRequest request) {
+        if (request.checkNotModified("W/\"" + userService.getUsersChangeSeq() + "\"")) {
+            return null;
+        }
+        StreamingResponseBody body = userService::writeAllUsers;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping(params = "page")
+    public ResponseEntity<UserPage> getUsersPage(@RequestParam int page,
+                                                 @RequestParam(defaultValue = "${users.pagination.default-page-size:20}") int size) {
+        return ResponseEntity.ok(userService.getUsers(page, size));
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<UserPage> getUsersAfterCursor(@RequestParam String cursor,
+                                                        @RequestParam(defaultValue = "${users.pagination.default-page-size:20}") int size) {
+        return ResponseEntity.ok(userService.getUsersAfter(cursor, size));
+    }
+
+    /**
+     * Users changed since the {@code since} token, oldest first, with deleted users as tombstones.
+     * Keep the returned {@code next} and send it as {@code since} on the following call; a 410
+     * means the token is no longer usable and the client should start again without one.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<UserChangePage> getChanges(@RequestParam(required = false) String since,
+                                                     @RequestParam(defaultValue = "${users.pagination.default-page-size:20}") int size) {
+        return ResponseEntity.ok(userService.getChangesSince(since, size));
+    }
+
+    /** Exact, case-insensitive email lookup; the oldest match wins, 404 when no user has the address. */
+    @GetMapping(value = "/search", params = "email")
+    public ResponseEntity<UserResponse> findUserByEmail(@RequestParam String email) {
+        return ResponseEntity.of(userService.findUserByEmail(email));
+    }
+
+    @GetMapping(value = "/search", params = "namePrefix")
+    public ResponseEntity<UserSearchPage> searchUsersByNamePrefix(@RequestParam String namePrefix,
+                                                                  @RequestParam(defaultValue = "0") int page,
+                                                                  @RequestParam(defaultValue = "${users.pagination.default-page-size:20}") int size) {
+        return ResponseEntity.ok(userService.searchUsersByNamePrefix(namePrefix, page, size));
+    }
+
+    @GetMapping(value = "/search", params = "emailPrefix")
+    public ResponseEntity<UserSearchPage> searchUsersByEmailPrefix(@RequestParam String emailPrefix,
+                                                                   @RequestParam(defaultValue = "0") int page,
+                                                                   @RequestParam(defaultValue = "${users.pagination.default-page-size:20}") int size) {
+        return ResponseEntity.ok(userService.searchUsersByEmailPrefix(emailPrefix, page, size));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = userService::exportUsers;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
+    /**
+     * Answers a matching If-None-Match or If-Modified-Since with 304 without serialising the
+     * user. The validators come from the cached user, so a cache hit needs no query at all.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+    public ResponseEntity<User> getUserById(@PathVariable Long id, WebRequest request) {
+        User user = userService.getUserById(id);
+        if (request.checkNotModified(etag(user.getVersion()), lastModified(user.getUpdatedAt()))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag(user.getVersion()))
+                .lastModified(lastModified(user.getUpdatedAt()))
+                .body(user);
     }
 
+    /** Retries that repeat the {@code Idempotency-Key} get the first attempt's user back, without creating another. */
     @PostMapping
-    public ResponseEntity<User> createUser(@RequestBody User user) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(userService.createUser(user));
+    public ResponseEntity<User> createUser(@RequestBody User user,
+                                           @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        User created = idempotencyKey == null ? userService.createUser(user) : userService.createUser(user, idempotencyKey);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @PostMapping("/async")
+    public CompletableFuture<ResponseEntity<User>> createUserAsync(@RequestBody User user) {
+        return userService.createUserAsync(user)
+                .thenApply(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResult> importUsers(InputStream body) {
+        try (MappingIterator<User> users = objectMapper.readerFor(User.class).readValues(body)) {
+            return ResponseEntity.ok(userService.importUsers(users));
+        }
     }
 
     @PutMapping("/{id}")
@@ -40,4 +143,21 @@ public class UserController {
         userService.deleteUser(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * An update that passed the version check but lost the race at commit gets the same 409
+     * as one that sent a stale version.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public void handleConcurrentUpdate(OptimisticLockingFailureException e, HttpServletResponse response) throws IOException {
+        response.sendError(HttpStatus.CONFLICT.value(), e.getMessage());
+    }
+
+    private static String etag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static long lastModified(Instant updatedAt) {
+        return updatedAt == null ? -1 : updatedAt.toEpochMilli();
+    }
+}
@@ -0,0 +1,23 @@
+package com.junit.wiremock.dto;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkImportResult {
+    private int total;
+    private int created;
+    private int failed;
+    private List<BulkImportRowResult> rows = new ArrayList<>();
+
+    public void addRow(BulkImportRowResult row) {
+        rows.add(row);
+        total++;
+        if (row.getStatus() == BulkImportRowResult.Status.CREATED) {
+            created++;
+        } else {
+            failed++;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.junit.wiremock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportRowResult {
+    private int index;
+    private String email;
+    private Status status;
+    private Long id;
+    private String error;
+
+    public enum Status {
+        CREATED,
+        INVALID_EMAIL,
+        DUPLICATE_EMAIL,
+        FAILED
+    }
+}
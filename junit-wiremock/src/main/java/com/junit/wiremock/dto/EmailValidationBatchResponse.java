@@ -0,0 +1,6 @@
+package com.junit.wiremock.dto;
+
+import java.util.List;
+
+public record EmailValidationBatchResponse(List<EmailValidationResponse> results) {
+}
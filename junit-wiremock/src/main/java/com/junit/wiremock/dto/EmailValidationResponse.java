@@ -1,5 +1,6 @@
 package com.junit.wiremock.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
 @Data
@@ -7,4 +8,8 @@ public class EmailValidationResponse {
     private String email;
     private boolean valid;
     private String reason;
+
+    /** Accepted under the degraded policy without asking the API; the user is stored as pending. */
+    @JsonIgnore
+    private boolean provisional;
 }
@@ -0,0 +1,4 @@
+package com.junit.wiremock.dto;
+
+public record PendingUserValidation(Long id, String email) {
+}
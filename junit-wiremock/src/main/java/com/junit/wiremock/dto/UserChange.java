@@ -0,0 +1,20 @@
+package com.junit.wiremock.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.junit.wiremock.entity.UserStatus;
+import java.time.Instant;
+
+/**
+ * One entry of the change feed: the user's current state, or a tombstone with
+ * {@code deleted} set and no user. The sequence number only positions the entry in the feed.
+ */
+public record UserChange(Long id, boolean deleted, UserResponse user, @JsonIgnore long changeSeq) {
+
+    public UserChange(Long changeSeq, Long id, String name, String email, Long version, UserStatus status, Instant updatedAt) {
+        this(id, false, new UserResponse(id, name, email, version, status, updatedAt), changeSeq);
+    }
+
+    public UserChange(Long changeSeq, Long id) {
+        this(id, true, null, changeSeq);
+    }
+}
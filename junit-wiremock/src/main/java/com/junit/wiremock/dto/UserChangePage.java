@@ -0,0 +1,17 @@
+package com.junit.wiremock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/** {@code next} is always set: pass it as {@code since} to continue, also after an empty page. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangePage {
+    private List<UserChange> content;
+    private int size;
+    private String next;
+    private boolean hasMore;
+}
@@ -0,0 +1,16 @@
+package com.junit.wiremock.dto;
+
+import com.junit.wiremock.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPage {
+    private List<User> content;
+    private int size;
+    private String next;
+}
@@ -0,0 +1,17 @@
+package com.junit.wiremock.dto;
+
+import com.junit.wiremock.entity.User;
+import com.junit.wiremock.entity.UserStatus;
+import java.time.Instant;
+
+/**
+ * Read-only view of a user with the same JSON shape as the entity. Queried as a constructor
+ * projection, it never enters the persistence context and carries no Hibernate state.
+ */
+public record UserResponse(Long id, String name, String email, Long version, UserStatus status, Instant updatedAt) {
+
+    public static UserResponse from(User user) {
+        return new UserResponse(user.getId(), user.getName(), user.getEmail(), user.getVersion(),
+                user.getStatus(), user.getUpdatedAt());
+    }
+}
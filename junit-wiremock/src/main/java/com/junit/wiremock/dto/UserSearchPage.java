@@ -0,0 +1,15 @@
+package com.junit.wiremock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchPage {
+    private List<UserResponse> content;
+    private int size;
+    private String next;
+}
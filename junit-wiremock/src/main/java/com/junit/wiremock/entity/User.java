@@ -1,14 +1,28 @@
 package com.junit.wiremock.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.junit.wiremock.repository.UserChangeStamper;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+import java.time.Instant;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_name_lower", columnList = "name_lower, id"),
+        @Index(name = "idx_users_email_lower", columnList = "email_lower, id"),
+        @Index(name = "idx_users_change_seq", columnList = "change_seq, id")
+})
+@EntityListeners(UserChangeStamper.class)
 @Data
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -16,4 +30,37 @@ public class User {
     
     @Column(nullable = false, unique = true)
     private String email;
-}
\ No newline at end of file
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'ACTIVE'")
+    @Column(nullable = false, length = 20)
+    private UserStatus status = UserStatus.ACTIVE;
+
+    @UpdateTimestamp
+    @ColumnDefault("current_timestamp")
+    private Instant updatedAt;
+
+    /** Change sequence number of the last insert or update, for the change feed; set by {@link UserChangeStamper}. */
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long changeSeq;
+
+    /** Lowercased copies maintained by the database, for case-insensitive search only. */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "name_lower", insertable = false, updatable = false,
+            columnDefinition = "varchar(255) generated always as (lower(name))")
+    private String nameLower;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "email_lower", insertable = false, updatable = false,
+            columnDefinition = "varchar(255) generated always as (lower(email))")
+    private String emailLower;
+}
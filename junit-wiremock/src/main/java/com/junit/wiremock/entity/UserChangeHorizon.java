@@ -0,0 +1,22 @@
+package com.junit.wiremock.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * The single row behind {@code UserChangeSequence}'s pruning horizon: the highest sequence number
+ * of a pruned tombstone. Mapped so the schema is generated with the rest.
+ */
+@Entity
+@Table(name = "user_change_horizon")
+@Data
+public class UserChangeHorizon {
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long prunedSeq;
+}
@@ -0,0 +1,10 @@
+package com.junit.wiremock.entity;
+
+public enum UserStatus {
+    /** The email address has been validated, or the user predates write-behind validation. */
+    ACTIVE,
+    /** Created in write-behind mode; the email address is validated in the background. */
+    PENDING_VALIDATION,
+    /** Write-behind validation rejected the email address. */
+    INVALID_EMAIL
+}
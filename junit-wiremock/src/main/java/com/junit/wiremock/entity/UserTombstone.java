@@ -0,0 +1,22 @@
+package com.junit.wiremock.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+
+/** Marks a deleted user in the change feed, at the change sequence number of the delete. */
+@Entity
+@Table(name = "user_tombstones", indexes = {
+        @Index(name = "idx_user_tombstones_change_seq", columnList = "change_seq, user_id")
+})
+@Data
+public class UserTombstone {
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long changeSeq;
+
+    @Column(nullable = false)
+    private Instant deletedAt;
+}
@@ -0,0 +1,13 @@
+package com.junit.wiremock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** The token is past every committed change, e.g. issued before the database was reset; resync from the start. */
+@ResponseStatus(HttpStatus.GONE)
+public class ChangeTokenAheadException extends RuntimeException {
+
+    public ChangeTokenAheadException(String token) {
+        super("Change token is ahead of the change feed, resynchronise without one: " + token);
+    }
+}
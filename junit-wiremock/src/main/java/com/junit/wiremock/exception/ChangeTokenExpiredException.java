@@ -0,0 +1,13 @@
+package com.junit.wiremock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** The token is older than the retained tombstones, so deletes since then may be missing; resync from the start. */
+@ResponseStatus(HttpStatus.GONE)
+public class ChangeTokenExpiredException extends RuntimeException {
+
+    public ChangeTokenExpiredException(String token) {
+        super("Change token is older than the change feed retention, resynchronise without one: " + token);
+    }
+}
@@ -0,0 +1,12 @@
+package com.junit.wiremock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class EmailValidationUnavailableException extends RuntimeException {
+
+    public EmailValidationUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
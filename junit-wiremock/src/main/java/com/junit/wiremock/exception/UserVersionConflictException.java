@@ -0,0 +1,12 @@
+package com.junit.wiremock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class UserVersionConflictException extends RuntimeException {
+
+    public UserVersionConflictException(Long id, Long expectedVersion, Long actualVersion) {
+        super("User " + id + " is at version " + actualVersion + ", not " + expectedVersion);
+    }
+}
@@ -0,0 +1,154 @@
+package com.junit.wiremock.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows the measured latency, after the gradient algorithm of Netflix's
+ * concurrency-limits. Latencies are averaged per sample window and compared with a slow moving
+ * baseline: while the window stays within {@code rttTolerance} of the baseline the limit grows by
+ * about its square root per window, and once queueing pushes latency past it the limit shrinks in
+ * proportion, down to half per window. Requests over the limit are rejected instead of queued.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double BASELINE_RECOVERY = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final double baselineWeight;
+    private final long sampleWindowNanos;
+    private final int minWindowSamples;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+
+    private volatile double limit;
+
+    // Guarded by this
+    private double baselineRtt;
+    private long windowStart = System.nanoTime();
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(String name, MeterRegistry meterRegistry, int initialLimit, int minLimit,
+                                      int maxLimit, double rttTolerance, double smoothing, int baselineWindows,
+                                      Duration sampleWindow, int minWindowSamples) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= min-limit <= max-limit for " + name + " but got "
+                    + minLimit + " and " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.baselineWeight = 2.0 / (baselineWindows + 1);
+        this.sampleWindowNanos = sampleWindow.toNanos();
+        this.minWindowSamples = minWindowSamples;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.rejected = Counter.builder("users.api.concurrency.rejected")
+                .description("Requests rejected because the concurrency limit was reached")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("users.api.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("users.api.concurrency.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests currently holding a concurrency permit")
+                .tag("limiter", name)
+                .register(meterRegistry);
+    }
+
+    /** Returns a permit to release when the request completes, or null when the limit is reached. */
+    public Permit tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.increment();
+                return null;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return new Permit(System.nanoTime(), current + 1);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightAtStart) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtStart);
+        long now = System.nanoTime();
+        if (now - windowStart < sampleWindowNanos || windowSamples < minWindowSamples) {
+            return;
+        }
+        double windowRtt = (double) windowRttSum / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        update(windowRtt, maxInFlight);
+    }
+
+    private void update(double windowRtt, int maxInFlight) {
+        if (baselineRtt == 0) {
+            baselineRtt = windowRtt;
+        } else {
+            baselineRtt += (windowRtt - baselineRtt) * baselineWeight;
+        }
+        // Let the baseline follow a lasting drop in latency, e.g. once a slow dependency recovers.
+        if (baselineRtt > windowRtt * 2) {
+            baselineRtt *= BASELINE_RECOVERY;
+        }
+        double current = limit;
+        // Well below the limit, latency says nothing about how much more could be admitted.
+        if (maxInFlight < current / 2) {
+            return;
+        }
+        double gradient = Math.clamp(rttTolerance * baselineRtt / windowRtt, MIN_GRADIENT, 1.0);
+        double target = current * gradient + Math.sqrt(current);
+        limit = Math.clamp(current * (1 - smoothing) + target * smoothing, minLimit, maxLimit);
+    }
+
+    public final class Permit {
+
+        private final long start;
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long start, int inFlightAtStart) {
+            this.start = start;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Frees the permit. Only latencies of requests that completed normally adjust the limit;
+         * failures are often fast and would make the service look healthier than it is.
+         * Releasing more than once has no effect.
+         */
+        public void release(boolean completedNormally) {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            inFlight.decrementAndGet();
+            if (completedNormally) {
+                sample(System.nanoTime() - start, inFlightAtStart);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.junit.wiremock.limit;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Admits API requests only while their limiter has a permit, so overload is answered at once with
+ * the rejection status and a {@code Retry-After} instead of piling up in the connector queue.
+ * Reads and writes have separate limiters so slow writes cannot starve reads. Asynchronous requests
+ * hold their permit until the async processing completes.
+ * <p>
+ * Long-running streams are not limited: anything under an excluded path, and a GET on an
+ * excluded list path without a {@code page} or {@code cursor} parameter, which streams the
+ * whole collection. Paged and cursor reads of the same path stay limited.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final List<String> excludedPaths;
+    private final List<String> excludedListPaths;
+    private final int rejectionStatus;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter readLimiter, AdaptiveConcurrencyLimiter writeLimiter,
+                                  List<String> excludedPaths, List<String> excludedListPaths,
+                                  int rejectionStatus, Duration retryAfter) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.excludedPaths = List.copyOf(excludedPaths);
+        this.excludedListPaths = List.copyOf(excludedListPaths);
+        this.rejectionStatus = rejectionStatus;
+        // Retry-After takes whole seconds; round up so clients never come back early.
+        this.retryAfterSeconds = Long.toString(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String excludedPath : excludedPaths) {
+            if (path.startsWith(excludedPath)) {
+                return true;
+            }
+        }
+        return HttpMethod.GET.matches(request.getMethod()) && excludedListPaths.contains(path)
+                && request.getParameter("page") == null && request.getParameter("cursor") == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter.Permit permit = limiterFor(request).tryAcquire();
+        if (permit == null) {
+            response.setStatus(rejectionStatus);
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            return;
+        }
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (completed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new PermitReleasingListener(permit));
+            } else {
+                permit.release(completed && response.getStatus() < 500);
+            }
+        }
+    }
+
+    private AdaptiveConcurrencyLimiter limiterFor(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)
+                ? readLimiter : writeLimiter;
+    }
+
+    private record PermitReleasingListener(AdaptiveConcurrencyLimiter.Permit permit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            int status = ((HttpServletResponse) event.getSuppliedResponse()).getStatus();
+            permit.release(status < 500);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release(false);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release(false);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
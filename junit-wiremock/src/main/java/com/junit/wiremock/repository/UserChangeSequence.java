@@ -0,0 +1,134 @@
+package com.junit.wiremock.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Sequence for changes to users, with a committed watermark. A transaction that writes users
+ * takes the next number once and stamps every change with it. Numbers are handed out in memory
+ * and tracked until their transaction commits or rolls back. {@link #lastCommitted()} is one
+ * below the oldest number still in use, so a reader that sees it has seen every change at or
+ * below it, and any change committed later has a higher number.
+ * <p>
+ * Taking a number holds no database lock, so concurrent user writes are not serialised on it.
+ * A long transaction holds the watermark back until it ends; its changes are not skipped. The
+ * numbers only mean something within one application instance, which is the only writer.
+ * Numbering resumes above the highest number stamped on a user or tombstone, or pruned.
+ * <p>
+ * It also keeps the pruning horizon: the highest sequence number of a tombstone that was
+ * deleted, below which a feed position may have missed deletes.
+ */
+@Component
+public class UserChangeSequence {
+
+    private static final String HIGHEST_USED = "select greatest("
+            + "(select coalesce(max(change_seq), 0) from users), "
+            + "(select coalesce(max(change_seq), 0) from user_tombstones), "
+            + "(select coalesce(max(pruned_seq), 0) from user_change_horizon))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Numbers taken by transactions that have not ended yet. */
+    private final NavigableSet<Long> running = new TreeSet<>();
+    private long lastIssued = -1;
+    private volatile long prunedUpTo = -1;
+
+    public UserChangeSequence(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** The sequence number of the current transaction's changes, taken on first use. */
+    public long forCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Changes to users must be written in a transaction");
+        }
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (synchronization instanceof Taken taken) {
+                return taken.changeSeq;
+            }
+        }
+        Taken taken = new Taken(issue());
+        TransactionSynchronizationManager.registerSynchronization(taken);
+        return taken.changeSeq;
+    }
+
+    /** The highest sequence number at and below which every change is committed; 0 before the first change. */
+    public synchronized long lastCommitted() {
+        seed();
+        return running.isEmpty() ? lastIssued : running.first() - 1;
+    }
+
+    /** The highest sequence number of a pruned tombstone; 0 when none was pruned. */
+    public long prunedUpTo() {
+        if (prunedUpTo < 0) {
+            synchronized (this) {
+                seed();
+            }
+        }
+        return prunedUpTo;
+    }
+
+    /**
+     * Raises the pruning horizon to {@code changeSeq} in the current transaction; the in-memory
+     * copy follows once it commits.
+     */
+    public void recordPruned(long changeSeq) {
+        if (jdbcTemplate.update("update user_change_horizon set pruned_seq = ? where id = 1 and pruned_seq < ?",
+                changeSeq, changeSeq) == 0) {
+            try {
+                jdbcTemplate.update("insert into user_change_horizon (id, pruned_seq) values (1, ?)", changeSeq);
+            } catch (DuplicateKeyException e) {
+                // The row exists and is already at or above changeSeq.
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                synchronized (UserChangeSequence.this) {
+                    prunedUpTo = Math.max(prunedUpTo, changeSeq);
+                }
+            }
+        });
+    }
+
+    private synchronized long issue() {
+        seed();
+        long changeSeq = ++lastIssued;
+        running.add(changeSeq);
+        return changeSeq;
+    }
+
+    private synchronized void finish(long changeSeq) {
+        running.remove(changeSeq);
+    }
+
+    private void seed() {
+        if (lastIssued < 0) {
+            lastIssued = jdbcTemplate.queryForObject(HIGHEST_USED, Long.class);
+            List<Long> pruned = jdbcTemplate.queryForList("select pruned_seq from user_change_horizon where id = 1", Long.class);
+            prunedUpTo = pruned.isEmpty() ? 0 : pruned.getFirst();
+        }
+    }
+
+    /** Registered with the transaction, so a nested REQUIRES_NEW transaction takes its own number. */
+    private final class Taken implements TransactionSynchronization {
+
+        private final long changeSeq;
+
+        private Taken(long changeSeq) {
+            this.changeSeq = changeSeq;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            finish(changeSeq);
+        }
+    }
+}
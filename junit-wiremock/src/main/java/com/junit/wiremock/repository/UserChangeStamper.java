@@ -0,0 +1,23 @@
+package com.junit.wiremock.repository;
+
+import com.junit.wiremock.entity.User;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.stereotype.Component;
+
+/** Stamps inserted and updated users with their transaction's change sequence number. */
+@Component
+public class UserChangeStamper {
+
+    private final UserChangeSequence userChangeSequence;
+
+    public UserChangeStamper(UserChangeSequence userChangeSequence) {
+        this.userChangeSequence = userChangeSequence;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void stamp(User user) {
+        user.setChangeSeq(userChangeSequence.forCurrentTransaction());
+    }
+}
@@ -1,9 +1,68 @@
 package com.junit.wiremock.repository;
 
+import com.junit.wiremock.dto.PendingUserValidation;
+import com.junit.wiremock.dto.UserChange;
+import com.junit.wiremock.dto.UserResponse;
 import com.junit.wiremock.entity.User;
+import com.junit.wiremock.entity.UserStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-}
\ No newline at end of file
+public interface UserRepository extends JpaRepository<User, Long>, UserStreamingRepository {
+
+    Slice<User> findAllBy(Pageable pageable);
+
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    boolean existsByEmail(String email);
+
+    /**
+     * {@code email} is lowercase. The unique constraint is on the stored address, so addresses that
+     * differ only in case can all match; they come back oldest first.
+     */
+    @Query("select new com.junit.wiremock.dto.UserResponse(u.id, u.name, u.email, u.version, u.status, u.updatedAt) "
+            + "from User u where u.emailLower = :email order by u.id")
+    List<UserResponse> findResponsesByEmailIgnoreCase(String email, Limit limit);
+
+    /** {@code pattern} is a lowercase prefix followed by {@code %}, with wildcards in it escaped by a backslash. */
+    @Query("select new com.junit.wiremock.dto.UserResponse(u.id, u.name, u.email, u.version, u.status, u.updatedAt) "
+            + "from User u where u.nameLower like :pattern escape '\\' order by u.nameLower, u.id")
+    Slice<UserResponse> findResponsesByNameLike(String pattern, Pageable pageable);
+
+    /** {@code pattern} is a lowercase prefix followed by {@code %}, with wildcards in it escaped by a backslash. */
+    @Query("select new com.junit.wiremock.dto.UserResponse(u.id, u.name, u.email, u.version, u.status, u.updatedAt) "
+            + "from User u where u.emailLower like :pattern escape '\\' order by u.emailLower, u.id")
+    Slice<UserResponse> findResponsesByEmailLike(String pattern, Pageable pageable);
+
+    /** Pending users with an id above {@code afterId}, in id order. */
+    @Query("select new com.junit.wiremock.dto.PendingUserValidation(u.id, u.email) from User u "
+            + "where u.status = com.junit.wiremock.entity.UserStatus.PENDING_VALIDATION and u.id > :afterId order by u.id")
+    List<PendingUserValidation> findPendingValidations(long afterId, Limit limit);
+
+    /** Users changed after position ({@code changeSeq}, {@code id}), up to and including {@code upToSeq}. */
+    @Query("select new com.junit.wiremock.dto.UserChange(u.changeSeq, u.id, u.name, u.email, u.version, u.status, "
+            + "u.updatedAt) from User u where (u.changeSeq > :changeSeq or (u.changeSeq = :changeSeq and u.id > :id)) "
+            + "and u.changeSeq <= :upToSeq order by u.changeSeq, u.id")
+    List<UserChange> findChangesAfter(long changeSeq, long id, long upToSeq, Limit limit);
+
+    /** A bulk update bypasses {@link UserChangeStamper}, so the caller passes its transaction's change sequence number. */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.status = :status, u.version = u.version + 1, u.updatedAt = instant, "
+            + "u.changeSeq = :changeSeq "
+            + "where u.id = :id and u.status = com.junit.wiremock.entity.UserStatus.PENDING_VALIDATION")
+    int completePendingValidation(Long id, UserStatus status, long changeSeq);
+
+    @Transactional
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    int deleteUserById(Long id);
+}
@@ -0,0 +1,11 @@
+package com.junit.wiremock.repository;
+
+import com.junit.wiremock.dto.UserResponse;
+import java.util.stream.Stream;
+
+public interface UserStreamingRepository {
+
+    Stream<UserResponse> streamAllResponsesOrderedById(int fetchSize);
+
+    Stream<String> streamAllEmails(int fetchSize);
+}
@@ -0,0 +1,30 @@
+package com.junit.wiremock.repository;
+
+import com.junit.wiremock.dto.UserResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import java.util.stream.Stream;
+
+public class UserStreamingRepositoryImpl implements UserStreamingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<UserResponse> streamAllResponsesOrderedById(int fetchSize) {
+        return entityManager.createQuery("select new com.junit.wiremock.dto.UserResponse(u.id, u.name, u.email, "
+                        + "u.version, u.status, u.updatedAt) from User u order by u.id", UserResponse.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_CACHEABLE, false)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<String> streamAllEmails(int fetchSize) {
+        return entityManager.createQuery("select u.email from User u", String.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_CACHEABLE, false)
+                .getResultStream();
+    }
+}
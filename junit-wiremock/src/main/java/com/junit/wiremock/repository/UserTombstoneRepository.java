@@ -0,0 +1,35 @@
+package com.junit.wiremock.repository;
+
+import com.junit.wiremock.dto.UserChange;
+import com.junit.wiremock.entity.UserTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface UserTombstoneRepository extends JpaRepository<UserTombstone, Long> {
+
+    /** Tombstones after position ({@code changeSeq}, {@code id}), up to and including {@code upToSeq}. */
+    @Query("select new com.junit.wiremock.dto.UserChange(t.changeSeq, t.userId) from UserTombstone t "
+            + "where (t.changeSeq > :changeSeq or (t.changeSeq = :changeSeq and t.userId > :id)) "
+            + "and t.changeSeq <= :upToSeq order by t.changeSeq, t.userId")
+    List<UserChange> findChangesAfter(long changeSeq, long id, long upToSeq, Limit limit);
+
+    /** Sequence number of the newest tombstone left before {@code cutoff}; null when there is none. */
+    @Query("select max(t.changeSeq) from UserTombstone t where t.deletedAt < :cutoff")
+    Long findLastChangeSeqDeletedBefore(Instant cutoff);
+
+    @Modifying
+    @Query("delete from UserTombstone t where t.changeSeq <= :changeSeq")
+    int deleteUpTo(long changeSeq);
+
+    @Transactional
+    @Modifying
+    @Query("insert into UserTombstone (userId, changeSeq, deletedAt) values (:userId, :changeSeq, instant)")
+    int insert(Long userId, long changeSeq);
+}
@@ -0,0 +1,80 @@
+package com.junit.wiremock.service;
+
+import com.junit.wiremock.client.EmailValidationClient;
+import com.junit.wiremock.dto.EmailValidationResponse;
+import com.junit.wiremock.dto.PendingUserValidation;
+import com.junit.wiremock.entity.UserStatus;
+import com.junit.wiremock.exception.EmailValidationUnavailableException;
+import com.junit.wiremock.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+/**
+ * Revalidates users that were accepted under the degraded policy while the email API was
+ * unavailable. They are stored as {@link UserStatus#PENDING_VALIDATION}, so they survive a
+ * restart, and each verdict is recorded as the user's status. A round stops at the first
+ * address the API still cannot answer for. In write-behind mode the
+ * {@link WriteBehindEmailValidator} sweep already covers every pending user.
+ * <p>
+ * Rounds walk the pending users in id order from where the last one stopped, and start over
+ * once they reach the end. A user whose revalidation keeps failing for another reason stays
+ * pending but is only retried on the next pass, so it cannot hold back the users after it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DegradedEmailRevalidator {
+
+    private final UserRepository userRepository;
+    private final EmailValidationClient emailValidationClient;
+    private final WriteBehindEmailValidator writeBehindEmailValidator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${email.validation.resilience.revalidation.batch-size:100}")
+    private int batchSize = 100;
+
+    /** Id of the last user the current pass has dealt with. */
+    private long afterId;
+
+    @Scheduled(fixedDelayString = "${email.validation.resilience.revalidation.interval:30s}")
+    public synchronized int revalidatePending() {
+        if (writeBehindEmailValidator.isEnabled()) {
+            return 0;
+        }
+        int revalidated = 0;
+        List<PendingUserValidation> pending = userRepository.findPendingValidations(afterId, Limit.of(batchSize));
+        boolean passComplete = pending.size() < batchSize;
+        for (int i = 0; i < pending.size(); i++) {
+            PendingUserValidation user = pending.get(i);
+            EmailValidationResponse response;
+            try {
+                response = emailValidationClient.revalidate(user.email());
+            } catch (EmailValidationUnavailableException e) {
+                log.debug("Email validation still unavailable, postponing {} revalidations", pending.size() - i);
+                passComplete = false;
+                break;
+            } catch (RuntimeException e) {
+                log.warn("Revalidation of user {} failed, it stays pending until the next pass", user.id(), e);
+                meterRegistry.counter("email.validation.revalidations", "outcome", "error").increment();
+                afterId = user.id();
+                continue;
+            }
+            afterId = user.id();
+            writeBehindEmailValidator.complete(user.id(), response.isValid() ? UserStatus.ACTIVE : UserStatus.INVALID_EMAIL,
+                    "revalidation");
+            meterRegistry.counter("email.validation.revalidations",
+                    "outcome", response.isValid() ? "valid" : "invalid").increment();
+            revalidated++;
+        }
+        if (passComplete) {
+            afterId = 0;
+        }
+        return revalidated;
+    }
+}
@@ -0,0 +1,163 @@
+package com.junit.wiremock.service;
+
+import com.junit.wiremock.cache.EmailIndex;
+import com.junit.wiremock.client.EmailValidationClient;
+import com.junit.wiremock.dto.BulkImportResult;
+import com.junit.wiremock.dto.BulkImportRowResult;
+import com.junit.wiremock.dto.EmailValidationResponse;
+import com.junit.wiremock.entity.User;
+import com.junit.wiremock.entity.UserStatus;
+import com.junit.wiremock.exception.DuplicateEmailException;
+import com.junit.wiremock.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+@Component
+public class UserBulkImporter {
+
+    private final UserRepository userRepository;
+    private final EmailValidationClient emailValidationClient;
+    private final EmailIndex emailIndex;
+    private final ExecutorService emailValidationExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public UserBulkImporter(UserRepository userRepository,
+                            EmailValidationClient emailValidationClient,
+                            EmailIndex emailIndex,
+                            @Qualifier("emailValidationExecutor") ExecutorService emailValidationExecutor,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${users.bulk-import.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.emailValidationClient = emailValidationClient;
+        this.emailIndex = emailIndex;
+        this.emailValidationExecutor = emailValidationExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkImportResult importUsers(Iterator<User> users) {
+        BulkImportResult result = new BulkImportResult();
+        PendingChunk pending = null;
+        List<User> chunk = new ArrayList<>(chunkSize);
+        int nextIndex = 0;
+        while (users.hasNext()) {
+            chunk.add(users.next());
+            if (chunk.size() == chunkSize) {
+                PendingChunk validating = startValidation(chunk, nextIndex);
+                nextIndex += chunk.size();
+                chunk = new ArrayList<>(chunkSize);
+                if (pending != null) {
+                    complete(pending, result);
+                }
+                pending = validating;
+            }
+        }
+        PendingChunk last = chunk.isEmpty() ? null : startValidation(chunk, nextIndex);
+        if (pending != null) {
+            complete(pending, result);
+        }
+        if (last != null) {
+            complete(last, result);
+        }
+        return result;
+    }
+
+    private PendingChunk startValidation(List<User> chunk, int firstIndex) {
+        List<CompletableFuture<EmailValidationResponse>> validations = new ArrayList<>(chunk.size());
+        for (User user : chunk) {
+            if (emailIndex.isTaken(user.getEmail())) {
+                validations.add(CompletableFuture.failedFuture(new DuplicateEmailException(user.getEmail())));
+                continue;
+            }
+            validations.add(CompletableFuture.supplyAsync(
+                    () -> emailValidationClient.validateEmail(user.getEmail()), emailValidationExecutor));
+        }
+        return new PendingChunk(chunk, firstIndex, validations);
+    }
+
+    private void complete(PendingChunk pending, BulkImportResult result) {
+        List<User> chunk = pending.users();
+        int firstIndex = pending.firstIndex();
+        BulkImportRowResult[] rows = new BulkImportRowResult[chunk.size()];
+        List<User> validUsers = new ArrayList<>(chunk.size());
+        List<Integer> validPositions = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            User user = chunk.get(i);
+            int index = firstIndex + i;
+            try {
+                EmailValidationResponse validation = pending.validations().get(i).join();
+                if (validation == null) {
+                    rows[i] = failed(index, user, BulkImportRowResult.Status.FAILED, "Empty validation response");
+                } else if (!validation.isValid()) {
+                    rows[i] = failed(index, user, BulkImportRowResult.Status.INVALID_EMAIL,
+                            "Invalid email: " + validation.getReason());
+                } else {
+                    user.setStatus(validation.isProvisional() ? UserStatus.PENDING_VALIDATION : UserStatus.ACTIVE);
+                    validUsers.add(user);
+                    validPositions.add(i);
+                }
+            } catch (CompletionException e) {
+                BulkImportRowResult.Status status = e.getCause() instanceof DuplicateEmailException
+                        ? BulkImportRowResult.Status.DUPLICATE_EMAIL
+                        : BulkImportRowResult.Status.FAILED;
+                rows[i] = failed(index, user, status, e.getCause().getMessage());
+            }
+        }
+
+        persist(validUsers, validPositions, firstIndex, rows);
+        for (BulkImportRowResult row : rows) {
+            result.addRow(row);
+        }
+    }
+
+    private void persist(List<User> users, List<Integer> positions, int firstIndex, BulkImportRowResult[] rows) {
+        if (users.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(users));
+            for (int i = 0; i < users.size(); i++) {
+                emailIndex.add(users.get(i).getEmail());
+                rows[positions.get(i)] = created(firstIndex + positions.get(i), users.get(i));
+            }
+        } catch (RuntimeException batchFailure) {
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                int index = firstIndex + positions.get(i);
+                user.setId(null);
+                user.setVersion(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> userRepository.save(user));
+                    emailIndex.add(user.getEmail());
+                    rows[positions.get(i)] = created(index, user);
+                } catch (RuntimeException rowFailure) {
+                    user.setId(null);
+                    rows[positions.get(i)] = failed(index, user, BulkImportRowResult.Status.FAILED,
+                            rowFailure.getMessage());
+                }
+            }
+        }
+    }
+
+    private static BulkImportRowResult created(int index, User user) {
+        return new BulkImportRowResult(index, user.getEmail(), BulkImportRowResult.Status.CREATED, user.getId(), null);
+    }
+
+    private static BulkImportRowResult failed(int index, User user, BulkImportRowResult.Status status, String error) {
+        return new BulkImportRowResult(index, user.getEmail(), status, null, error);
+    }
+
+    private record PendingChunk(List<User> users, int firstIndex,
+                                List<CompletableFuture<EmailValidationResponse>> validations) {
+    }
+}
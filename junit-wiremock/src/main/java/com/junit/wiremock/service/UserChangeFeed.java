@@ -0,0 +1,143 @@
+package com.junit.wiremock.service;
+
+import com.junit.wiremock.dto.UserChange;
+import com.junit.wiremock.dto.UserChangePage;
+import com.junit.wiremock.exception.ChangeTokenAheadException;
+import com.junit.wiremock.exception.ChangeTokenExpiredException;
+import com.junit.wiremock.exception.InvalidCursorException;
+import com.junit.wiremock.repository.UserChangeSequence;
+import com.junit.wiremock.repository.UserRepository;
+import com.junit.wiremock.repository.UserTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Incremental sync for downstream copies of the user list. Every write stamps the changed rows
+ * with a sequence number (see {@link UserChangeSequence}) and deletes leave a tombstone, so a
+ * client that keeps the feed's token only reads what changed since its last call. A user
+ * changed several times in between appears once, in its latest state.
+ * <p>
+ * Pages are read up to the last committed sequence number, taken first: every change at or
+ * below it is committed and visible to both queries, and any change committed meanwhile has a
+ * higher number, so it is on a later page rather than skipped.
+ * <p>
+ * Tombstones are pruned once they are older than the retention. A token from before the newest
+ * pruned one may have missed deletes, so it is rejected and the client resyncs from the start.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserChangeFeed {
+
+    private final UserRepository userRepository;
+    private final UserTombstoneRepository userTombstoneRepository;
+    private final UserChangeSequence userChangeSequence;
+
+    /** Changes after {@code since}, oldest first; a missing token starts from the beginning. */
+    public UserChangePage changesSince(String since, int pageSize) {
+        Position from = decodeToken(since);
+        long upToSeq = userChangeSequence.lastCommitted();
+        if (from.changeSeq() > upToSeq) {
+            throw new ChangeTokenAheadException(since);
+        }
+        long prunedUpTo = userChangeSequence.prunedUpTo();
+        if (since != null && !since.isBlank() && prunedUpTo > 0 && from.isBefore(Position.after(prunedUpTo))) {
+            throw new ChangeTokenExpiredException(since);
+        }
+        Limit limit = Limit.of(pageSize + 1);
+        List<UserChange> changes = merge(
+                userRepository.findChangesAfter(from.changeSeq(), from.id(), upToSeq, limit),
+                userTombstoneRepository.findChangesAfter(from.changeSeq(), from.id(), upToSeq, limit),
+                pageSize + 1);
+        boolean hasMore = changes.size() > pageSize;
+        List<UserChange> content = hasMore ? changes.subList(0, pageSize) : changes;
+        // Once caught up, the token moves to the watermark so it stays ahead of pruned tombstones
+        Position next = hasMore ? Position.of(content.getLast()) : Position.after(upToSeq);
+        return new UserChangePage(content, pageSize, encodeToken(next), hasMore);
+    }
+
+    /** The sequence number at and below which every change is committed. */
+    public long lastCommitted() {
+        return userChangeSequence.lastCommitted();
+    }
+
+    /** Deletes the user and leaves its tombstone, in one transaction. */
+    @Transactional
+    public boolean deleteUser(Long id) {
+        long changeSeq = userChangeSequence.forCurrentTransaction();
+        if (userRepository.deleteUserById(id) == 0) {
+            return false;
+        }
+        userTombstoneRepository.insert(id, changeSeq);
+        return true;
+    }
+
+    /**
+     * Deletes the tombstones left before {@code cutoff}, and any older by sequence number, and
+     * raises the pruning horizon to the newest one deleted. Returns the number deleted.
+     */
+    @Transactional
+    public int pruneTombstones(Instant cutoff) {
+        Long upToSeq = userTombstoneRepository.findLastChangeSeqDeletedBefore(cutoff);
+        if (upToSeq == null) {
+            return 0;
+        }
+        int pruned = userTombstoneRepository.deleteUpTo(upToSeq);
+        userChangeSequence.recordPruned(upToSeq);
+        return pruned;
+    }
+
+    private static List<UserChange> merge(List<UserChange> updates, List<UserChange> deletes, int max) {
+        List<UserChange> merged = new ArrayList<>(Math.min(updates.size() + deletes.size(), max));
+        int u = 0;
+        int d = 0;
+        while (merged.size() < max && (u < updates.size() || d < deletes.size())) {
+            if (d == deletes.size() || (u < updates.size() && Position.of(updates.get(u)).isBefore(Position.of(deletes.get(d))))) {
+                merged.add(updates.get(u++));
+            } else {
+                merged.add(deletes.get(d++));
+            }
+        }
+        return merged;
+    }
+
+    private static String encodeToken(Position position) {
+        String token = position.changeSeq() + ":" + position.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decodeToken(String token) {
+        if (token == null || token.isBlank()) {
+            return new Position(0, 0);
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            return new Position(Long.parseLong(decoded.substring(0, separator)), Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+
+    private record Position(long changeSeq, long id) {
+
+        static Position of(UserChange change) {
+            return new Position(change.changeSeq(), change.id());
+        }
+
+        /** Past every change at or below {@code changeSeq}. */
+        static Position after(long changeSeq) {
+            return new Position(changeSeq, Long.MAX_VALUE);
+        }
+
+        boolean isBefore(Position other) {
+            return changeSeq < other.changeSeq || (changeSeq == other.changeSeq && id < other.id);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.junit.wiremock.service;
+
+import com.junit.wiremock.dto.UserResponse;
+import com.junit.wiremock.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams users straight from a projection query into the response, one row at a time, with
+ * writers resolved once up front and flushed every {@code fetch-size} rows rather than after
+ * each one. Neither entities nor the full list are ever materialised.
+ */
+@Component
+public class UserExporter {
+
+    private final UserRepository userRepository;
+    private final ObjectWriter userWriter;
+    private final ObjectWriter userLineWriter;
+    private final int fetchSize;
+
+    public UserExporter(UserRepository userRepository,
+                        ObjectMapper objectMapper,
+                        @Value("${users.export.fetch-size:500}") int fetchSize) {
+        this.userRepository = userRepository;
+        this.userWriter = objectMapper.writerFor(UserResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.userLineWriter = userWriter.withRootValueSeparator("\n");
+        this.fetchSize = fetchSize;
+    }
+
+    /** Writes every user as newline-delimited JSON. */
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream out) {
+        long exported;
+        try (JsonGenerator generator = userLineWriter.createGenerator(out)) {
+            exported = writeAll(userLineWriter, generator);
+            if (exported > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return exported;
+    }
+
+    /** Writes every user as the elements of one JSON array. */
+    @Transactional(readOnly = true)
+    public long writeUsers(OutputStream out) {
+        long written;
+        try (JsonGenerator generator = userWriter.createGenerator(out)) {
+            generator.writeStartArray();
+            written = writeAll(userWriter, generator);
+            generator.writeEndArray();
+        }
+        return written;
+    }
+
+    private long writeAll(ObjectWriter writer, JsonGenerator generator) {
+        long written = 0;
+        try (Stream<UserResponse> users = userRepository.streamAllResponsesOrderedById(fetchSize)) {
+            Iterator<UserResponse> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                if (++written % fetchSize == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return written;
+    }
+}
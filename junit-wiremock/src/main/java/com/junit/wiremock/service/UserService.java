@@ -1,12 +1,33 @@
 package com.junit.wiremock.service;
 
+import com.junit.wiremock.dto.BulkImportResult;
+import com.junit.wiremock.dto.UserChangePage;
+import com.junit.wiremock.dto.UserPage;
+import com.junit.wiremock.dto.UserResponse;
+import com.junit.wiremock.dto.UserSearchPage;
 import com.junit.wiremock.entity.User;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface UserService {
     List<User> getAllUsers();
+    long writeAllUsers(OutputStream out);
+    UserPage getUsers(int page, int size);
+    UserPage getUsersAfter(String cursor, int size);
+    UserChangePage getChangesSince(String since, int size);
+    Optional<UserResponse> findUserByEmail(String email);
+    UserSearchPage searchUsersByNamePrefix(String prefix, int page, int size);
+    UserSearchPage searchUsersByEmailPrefix(String prefix, int page, int size);
     User getUserById(Long id);
+    long getUsersChangeSeq();
     User createUser(User user);
+    User createUser(User user, String idempotencyKey);
+    CompletableFuture<User> createUserAsync(User user);
     User updateUser(Long id, User user);
     void deleteUser(Long id);
+    BulkImportResult importUsers(Iterator<User> users);
+    long exportUsers(OutputStream out);
 }
\ No newline at end of file
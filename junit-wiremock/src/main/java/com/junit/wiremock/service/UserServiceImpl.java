@@ -1,19 +1,65 @@
 package com.junit.wiremock.service;
 
+import com.junit.wiremock.cache.EmailIndex;
+import com.junit.wiremock.cache.IdempotencyStore;
+import com.junit.wiremock.client.AsyncEmailValidationClient;
 import com.junit.wiremock.client.EmailValidationClient;
+import com.junit.wiremock.config.CacheConfig;
+import com.junit.wiremock.dto.BulkImportResult;
+import com.junit.wiremock.dto.UserChangePage;
 import com.junit.wiremock.dto.EmailValidationResponse;
+import com.junit.wiremock.dto.UserPage;
+import com.junit.wiremock.dto.UserResponse;
+import com.junit.wiremock.dto.UserSearchPage;
 import com.junit.wiremock.entity.User;
+import com.junit.wiremock.entity.UserStatus;
+import com.junit.wiremock.exception.DuplicateEmailException;
+import com.junit.wiremock.exception.InvalidCursorException;
+import com.junit.wiremock.exception.InvalidSearchException;
+import com.junit.wiremock.exception.UserVersionConflictException;
 import com.junit.wiremock.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 @Service
+@Timed("user.service")
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     
     private final UserRepository userRepository;
     private final EmailValidationClient emailValidationClient;
+    private final AsyncEmailValidationClient asyncEmailValidationClient;
+    private final UserBulkImporter userBulkImporter;
+    private final UserExporter userExporter;
+    private final EmailIndex emailIndex;
+    private final WriteBehindEmailValidator writeBehindEmailValidator;
+    private final IdempotencyStore idempotencyStore;
+    private final UserChangeFeed userChangeFeed;
+    @Qualifier("userAsyncWriteExecutor")
+    private final ExecutorService userAsyncWriteExecutor;
+
+    @Value("${users.pagination.max-page-size:100}")
+    private int maxPageSize = 100;
 
     @Override
     public List<User> getAllUsers() {
@@ -21,31 +67,235 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    public long writeAllUsers(OutputStream out) {
+        return userExporter.writeUsers(out);
+    }
+
+    @Override
+    public UserPage getUsers(int page, int size) {
+        int pageSize = pageSize(size);
+        Slice<User> slice = userRepository.findAllBy(PageRequest.of(Math.max(page, 0), pageSize, Sort.by("id")));
+        String next = slice.hasNext() ? String.valueOf(slice.getNumber() + 1) : null;
+        return new UserPage(slice.getContent(), pageSize, next);
+    }
+
+    @Override
+    public UserPage getUsersAfter(String cursor, int size) {
+        int pageSize = pageSize(size);
+        List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(decodeCursor(cursor), Limit.of(pageSize + 1));
+        if (users.size() <= pageSize) {
+            return new UserPage(users, pageSize, null);
+        }
+        List<User> content = users.subList(0, pageSize);
+        return new UserPage(content, pageSize, encodeCursor(content.get(pageSize - 1).getId()));
+    }
+
+    @Override
+    public UserChangePage getChangesSince(String since, int size) {
+        return userChangeFeed.changesSince(since, pageSize(size));
+    }
+
+    @Override
+    public Optional<UserResponse> findUserByEmail(String email) {
+        if (email == null || email.isBlank()) {
+            throw new InvalidSearchException("email must not be blank");
+        }
+        return userRepository.findResponsesByEmailIgnoreCase(email.strip().toLowerCase(Locale.ROOT), Limit.of(1))
+                .stream().findFirst();
+    }
+
+    @Override
+    public UserSearchPage searchUsersByNamePrefix(String prefix, int page, int size) {
+        int pageSize = pageSize(size);
+        return searchPage(userRepository.findResponsesByNameLike(
+                prefixPattern(prefix), PageRequest.of(Math.max(page, 0), pageSize)), pageSize);
+    }
+
+    @Override
+    public UserSearchPage searchUsersByEmailPrefix(String prefix, int page, int size) {
+        int pageSize = pageSize(size);
+        return searchPage(userRepository.findResponsesByEmailLike(
+                prefixPattern(prefix), PageRequest.of(Math.max(page, 0), pageSize)), pageSize);
+    }
+
+    /**
+     * Read-through: concurrent misses for the same id load once, and because a load holds the
+     * entry until it completes, an evict from a concurrent write can never be overtaken by an
+     * older value.
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#id", sync = true)
     public User getUserById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
     }
 
+    /** Moves on every committed create, update and delete, without querying the users table. */
+    @Override
+    public long getUsersChangeSeq() {
+        return userChangeFeed.lastCommitted();
+    }
+
     @Override
     public User createUser(User user) {
-        EmailValidationResponse validation = emailValidationClient.validateEmail(user.getEmail());
+        if (emailIndex.isTaken(user.getEmail())) {
+            throw new DuplicateEmailException(user.getEmail());
+        }
+        if (writeBehindEmailValidator.isEnabled()) {
+            return createPendingUser(user);
+        }
+        user.setStatus(statusFor(emailValidationClient.validateEmail(user.getEmail())));
+        return saveNew(user);
+    }
+
+    /**
+     * Creates the user at most once per key: a retry with the same key and body gets the user
+     * the first attempt created, without another validation call or insert.
+     */
+    @Override
+    public User createUser(User user, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return createUser(user);
+        }
+        return idempotencyStore.execute(idempotencyKey, user.getName() + '\u0000' + user.getEmail(),
+                () -> createUser(user));
+    }
+
+    /**
+     * The validation completes on the HTTP client's few threads; the blocking insert is handed
+     * to {@code userAsyncWriteExecutor} so it never holds up the other responses in flight.
+     */
+    @Override
+    public CompletableFuture<User> createUserAsync(User user) {
+        if (emailIndex.isTaken(user.getEmail())) {
+            return CompletableFuture.failedFuture(new DuplicateEmailException(user.getEmail()));
+        }
+        if (writeBehindEmailValidator.isEnabled()) {
+            return CompletableFuture.completedFuture(createPendingUser(user));
+        }
+        return asyncEmailValidationClient.validateEmail(user.getEmail())
+                .thenApplyAsync(validation -> {
+                    user.setStatus(statusFor(validation));
+                    return saveNew(user);
+                }, userAsyncWriteExecutor);
+    }
+
+    /**
+     * Write-behind mode: the user is stored as pending and returned at database speed, the
+     * email is validated in the background. A full queue pushes the validation back onto the
+     * caller instead of dropping it.
+     */
+    private User createPendingUser(User user) {
+        user.setStatus(UserStatus.PENDING_VALIDATION);
+        User saved = saveNew(user);
+        if (!writeBehindEmailValidator.enqueue(saved.getId(), saved.getEmail())) {
+            saved.setStatus(writeBehindEmailValidator.validateNow(saved.getId(), saved.getEmail()));
+        }
+        return saved;
+    }
+
+    /**
+     * A verdict the degraded policy accepted without the API stores the user as pending, so
+     * {@link DegradedEmailRevalidator} settles it once the API is back, even after a restart.
+     */
+    private static UserStatus statusFor(EmailValidationResponse validation) {
         if (!validation.isValid()) {
             throw new RuntimeException("Invalid email: " + validation.getReason());
         }
-        return userRepository.save(user);
+        return validation.isProvisional() ? UserStatus.PENDING_VALIDATION : UserStatus.ACTIVE;
     }
 
+    private User saveNew(User user) {
+        User saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (userRepository.existsByEmail(user.getEmail())) {
+                throw new DuplicateEmailException(user.getEmail());
+            }
+            throw e;
+        }
+        emailIndex.add(user.getEmail());
+        return saved;
+    }
+
+    /**
+     * Evicts rather than puts once committed: concurrent writers could put their results in a
+     * different order than they commit, while the next read reloads the committed row.
+     */
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
+    @Transactional
     public User updateUser(Long id, User user) {
         User existingUser = getUserById(id);
+        if (user.getVersion() != null && !user.getVersion().equals(existingUser.getVersion())) {
+            throw new UserVersionConflictException(id, user.getVersion(), existingUser.getVersion());
+        }
+        boolean emailChanged = !existingUser.getEmail().equals(user.getEmail());
+        if (emailChanged && emailIndex.isTaken(user.getEmail())) {
+            throw new DuplicateEmailException(user.getEmail());
+        }
         existingUser.setName(user.getName());
         existingUser.setEmail(user.getEmail());
-        return userRepository.save(existingUser);
+        if (emailChanged) {
+            emailIndex.add(user.getEmail());
+            emailIndex.recordRemoval();
+        }
+        return existingUser;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
     public void deleteUser(Long id) {
-        getUserById(id);
-        userRepository.deleteById(id);
+        if (!userChangeFeed.deleteUser(id)) {
+            throw new RuntimeException("User not found with id: " + id);
+        }
+        emailIndex.recordRemoval();
+    }
+
+    @Override
+    public BulkImportResult importUsers(Iterator<User> users) {
+        return userBulkImporter.importUsers(users);
+    }
+
+    @Override
+    public long exportUsers(OutputStream out) {
+        return userExporter.exportUsers(out);
+    }
+
+    private static UserSearchPage searchPage(Slice<UserResponse> slice, int pageSize) {
+        String next = slice.hasNext() ? String.valueOf(slice.getNumber() + 1) : null;
+        return new UserSearchPage(slice.getContent(), pageSize, next);
+    }
+
+    /** An empty prefix would match, and scan, every row, so at least one character is required. */
+    private static String prefixPattern(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new InvalidSearchException("prefix must not be blank");
+        }
+        String escaped = prefix.strip().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+
+    private int pageSize(int size) {
+        return Math.min(Math.max(size, 1), maxPageSize);
+    }
+
+    private static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
     }
 }
\ No newline at end of file
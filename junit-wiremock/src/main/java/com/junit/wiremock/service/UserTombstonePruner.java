@@ -0,0 +1,33 @@
+package com.junit.wiremock.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Deletes change feed tombstones older than the retention, so the table holds recent deletes
+ * only. Clients that poll the feed less often than the retention get 410 and resync.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserTombstonePruner {
+
+    private final UserChangeFeed userChangeFeed;
+
+    @Value("${users.changes.tombstone-retention:7d}")
+    private Duration retention = Duration.ofDays(7);
+
+    @Scheduled(fixedDelayString = "${users.changes.tombstone-pruning-interval:1h}")
+    public int pruneTombstones() {
+        int pruned = userChangeFeed.pruneTombstones(Instant.now().minus(retention));
+        if (pruned > 0) {
+            log.debug("Pruned {} user tombstones older than {}", pruned, retention);
+        }
+        return pruned;
+    }
+}
@@ -0,0 +1,265 @@
+package com.junit.wiremock.service;
+
+import com.junit.wiremock.client.EmailValidationClient;
+import com.junit.wiremock.config.CacheConfig;
+import com.junit.wiremock.dto.EmailValidationResponse;
+import com.junit.wiremock.dto.PendingUserValidation;
+import com.junit.wiremock.entity.UserStatus;
+import com.junit.wiremock.exception.EmailValidationUnavailableException;
+import com.junit.wiremock.repository.UserChangeSequence;
+import com.junit.wiremock.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates the email addresses of users created in write-behind mode. Users are persisted as
+ * {@link UserStatus#PENDING_VALIDATION} and queued here; workers drain the queue in batches,
+ * validate each batch concurrently and record the verdict as the user's status.
+ * <p>
+ * The queue is bounded: when it stays full for {@code offer-timeout} the creating thread
+ * validates the user itself, which slows producers down to the speed of the API. On shutdown
+ * the workers finish the queue before the context closes. Users still pending in the database
+ * are queued again by a periodic sweep, which also runs at startup.
+ */
+@Slf4j
+@Component
+public class WriteBehindEmailValidator {
+
+    private final UserRepository userRepository;
+    private final UserChangeSequence userChangeSequence;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailValidationClient emailValidationClient;
+    private final ExecutorService emailValidationExecutor;
+    private final ExecutorService workers;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<PendingUserValidation> queue;
+    private final boolean enabled;
+    private final int workerCount;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final Duration retryDelay;
+    private final Duration shutdownTimeout;
+
+    private volatile boolean running;
+
+    public WriteBehindEmailValidator(UserRepository userRepository,
+                                     UserChangeSequence userChangeSequence,
+                                     PlatformTransactionManager transactionManager,
+                                     EmailValidationClient emailValidationClient,
+                                     @Qualifier("emailValidationExecutor") ExecutorService emailValidationExecutor,
+                                     @Qualifier("emailValidationWriteBehindExecutor") ExecutorService workers,
+                                     CacheManager cacheManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${users.create.write-behind.enabled:false}") boolean enabled,
+                                     @Value("${users.create.write-behind.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${users.create.write-behind.workers:2}") int workerCount,
+                                     @Value("${users.create.write-behind.batch-size:50}") int batchSize,
+                                     @Value("${users.create.write-behind.offer-timeout:100ms}") Duration offerTimeout,
+                                     @Value("${users.create.write-behind.retry-delay:1s}") Duration retryDelay,
+                                     @Value("${users.create.write-behind.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.userRepository = userRepository;
+        this.userChangeSequence = userChangeSequence;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.emailValidationClient = emailValidationClient;
+        this.emailValidationExecutor = emailValidationExecutor;
+        this.workers = workers;
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.enabled = enabled;
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.retryDelay = retryDelay;
+        this.shutdownTimeout = shutdownTimeout;
+        Gauge.builder("users.validation.write-behind.queue", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a persisted pending user for validation, waiting up to {@code offer-timeout} for
+     * space. Returns {@code false} when the queue stayed full or the pipeline is shutting down;
+     * the caller then has to validate the user itself.
+     */
+    public boolean enqueue(Long id, String email) {
+        if (!running) {
+            return false;
+        }
+        try {
+            return queue.offer(new PendingUserValidation(id, email), offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Validates a pending user on the calling thread and stores the verdict. While the API is
+     * unavailable the user stays pending and is picked up by {@link #requeuePending()}.
+     */
+    public UserStatus validateNow(Long id, String email) {
+        UserStatus status;
+        try {
+            status = statusFor(emailValidationClient.revalidate(email));
+        } catch (EmailValidationUnavailableException e) {
+            meterRegistry.counter("users.validation.write-behind", "outcome", "postponed", "mode", "inline").increment();
+            return UserStatus.PENDING_VALIDATION;
+        }
+        complete(id, status, "inline");
+        return status;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::drainQueue);
+        }
+        requeuePending();
+    }
+
+    /**
+     * Picks up users that are pending in the database but not queued: left over by a previous
+     * run, or postponed while the queue was full. Only runs on an empty queue, so a user is
+     * rarely queued twice, and a second verdict for the same user is a no-op anyway.
+     */
+    @Scheduled(fixedDelayString = "${users.create.write-behind.recovery-interval:1m}")
+    public int requeuePending() {
+        if (!running || !queue.isEmpty()) {
+            return 0;
+        }
+        List<PendingUserValidation> pending = userRepository.findPendingValidations(0, Limit.of(queue.remainingCapacity()));
+        pending.forEach(queue::offer);
+        if (!pending.isEmpty()) {
+            log.info("Queued {} pending users for email validation", pending.size());
+        }
+        return pending.size();
+    }
+
+    /**
+     * Runs before any bean is destroyed, so the workers can still reach the API and the
+     * database while they finish the queue.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(shutdownTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            log.warn("{} users are still pending email validation at shutdown; they are queued again on the next start",
+                    queue.size());
+            workers.shutdownNow();
+        }
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    private void drainQueue() {
+        List<PendingUserValidation> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingUserValidation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                validateBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Write-behind email validation failed for {} users; they stay pending", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void validateBatch(List<PendingUserValidation> batch) throws InterruptedException {
+        List<CompletableFuture<PendingUserValidation>> validations = batch.stream()
+                .map(pending -> CompletableFuture.supplyAsync(() -> validate(pending), emailValidationExecutor))
+                .toList();
+        List<PendingUserValidation> postponed = new ArrayList<>();
+        for (CompletableFuture<PendingUserValidation> validation : validations) {
+            PendingUserValidation pending = validation.join();
+            if (pending != null) {
+                postponed.add(pending);
+            }
+        }
+        if (postponed.isEmpty() || !running) {
+            return;
+        }
+        Thread.sleep(retryDelay.toMillis());
+        for (PendingUserValidation pending : postponed) {
+            if (!queue.offer(pending)) {
+                log.warn("Write-behind queue is full, user {} stays pending until the next recovery sweep", pending.id());
+            }
+        }
+    }
+
+    /** Returns the user back when the API is unavailable and the validation has to be retried. */
+    private PendingUserValidation validate(PendingUserValidation pending) {
+        EmailValidationResponse response;
+        try {
+            response = emailValidationClient.revalidate(pending.email());
+        } catch (EmailValidationUnavailableException e) {
+            meterRegistry.counter("users.validation.write-behind", "outcome", "postponed", "mode", "background").increment();
+            return pending;
+        } catch (RuntimeException e) {
+            log.warn("Write-behind validation of user {} failed, it stays pending", pending.id(), e);
+            meterRegistry.counter("users.validation.write-behind", "outcome", "error", "mode", "background").increment();
+            return null;
+        }
+        complete(pending.id(), statusFor(response), "background");
+        return null;
+    }
+
+    /** Stores the verdict for a pending user and evicts its cached copy; a user no longer pending is left alone. */
+    void complete(Long id, UserStatus status, String mode) {
+        transactionTemplate.executeWithoutResult(tx ->
+                userRepository.completePendingValidation(id, status, userChangeSequence.forCurrentTransaction()));
+        Cache users = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        if (users != null) {
+            users.evict(id);
+        }
+        meterRegistry.counter("users.validation.write-behind",
+                "outcome", status == UserStatus.ACTIVE ? "valid" : "invalid", "mode", mode).increment();
+    }
+
+    private static UserStatus statusFor(EmailValidationResponse response) {
+        return response.isValid() ? UserStatus.ACTIVE : UserStatus.INVALID_EMAIL;
+    }
+}
@@ -0,0 +1,152 @@
+package com.junit.wiremock.startup;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time to first successful request: from launching the packaged application to the
+ * first 200 from a user endpoint, which needs the web server, the JPA metamodel and Hibernate.
+ * Started by {@code mvn -Pstartup verify} after the application has been extracted and the
+ * cache trained; options go into {@code -Dstartup.args}, e.g. {@code -Dstartup.args="--runs=10"}.
+ * <ul>
+ *     <li>{@code --runs}: launches per variant, interleaved across variants (5)</li>
+ *     <li>{@code --path}: request that has to succeed ({@code /api/users?page=0&size=1})</li>
+ *     <li>{@code --timeout}: give up on a launch after this many seconds (120)</li>
+ *     <li>{@code --variants}: any of {@code default,aot,aot-cache} (all three by default)</li>
+ * </ul>
+ * The {@code aot-cache} variant is skipped when the training run produced no cache file.
+ */
+public class StartupBenchmark {
+
+    private static final String CSV_HEADER = "label,variant,runs,min_ms,median_ms,max_ms";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        Path directory = Path.of(options.get("directory"));
+        Path jar = directory.resolve(options.get("jar"));
+        String java = options.getOrDefault("java", Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        String cacheOption = options.get("cache-option");
+        Path cacheFile = directory.resolve(options.get("cache-file"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        String path = options.getOrDefault("path", "/api/users?page=0&size=1");
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "120")));
+        String label = options.getOrDefault("label", "local");
+
+        List<String> aot = List.of("-Dspring.aot.enabled=true", "-Dspring.profiles.active=startup");
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        for (String variant : options.getOrDefault("variants", "default,aot,aot-cache").split(",")) {
+            switch (variant.trim()) {
+                case "default" -> variants.put("default", List.of());
+                case "aot" -> variants.put("aot", aot);
+                case "aot-cache" -> {
+                    if (Files.exists(cacheFile)) {
+                        List<String> jvmOptions = new ArrayList<>(aot);
+                        jvmOptions.add(cacheOption);
+                        variants.put("aot-cache", jvmOptions);
+                    } else {
+                        System.out.printf("Skipping aot-cache: %s was not created by the training run%n", cacheFile);
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown variant " + variant);
+            }
+        }
+
+        Map<String, List<Long>> results = new LinkedHashMap<>();
+        variants.keySet().forEach(variant -> results.put(variant, new ArrayList<>()));
+        Path logs = directory.resolve("logs");
+        Files.createDirectories(logs);
+        try (HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build()) {
+            for (int run = 1; run <= runs; run++) {
+                for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+                    List<String> command = new ArrayList<>();
+                    command.add(java);
+                    command.addAll(variant.getValue());
+                    int port = freePort();
+                    command.addAll(List.of("-jar", jar.toString(), "--server.port=" + port));
+                    Path log = logs.resolve(variant.getKey() + "-" + run + ".log");
+                    long millis = timeToFirstSuccess(command, directory, log, httpClient,
+                            URI.create("http://localhost:" + port + path), timeout);
+                    results.get(variant.getKey()).add(millis);
+                    System.out.printf("%-10s run %d: %d ms%n", variant.getKey(), run, millis);
+                }
+            }
+        }
+
+        StringBuilder csv = new StringBuilder();
+        System.out.printf("%n%-10s %8s %10s %8s%n", "variant", "min ms", "median ms", "max ms");
+        results.forEach((variant, millis) -> {
+            List<Long> sorted = millis.stream().sorted().toList();
+            long min = sorted.getFirst();
+            long median = sorted.get(sorted.size() / 2);
+            long max = sorted.getLast();
+            System.out.printf("%-10s %8d %10d %8d%n", variant, min, median, max);
+            csv.append(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%d%n", label, variant, sorted.size(), min, median, max));
+        });
+        Path summary = directory.resolve("startup.csv");
+        if (Files.notExists(summary)) {
+            Files.writeString(summary, CSV_HEADER + System.lineSeparator());
+        }
+        Files.writeString(summary, csv.toString(), StandardOpenOption.APPEND);
+    }
+
+    private static long timeToFirstSuccess(List<String> command, Path directory, Path log, HttpClient httpClient,
+                                           URI uri, Duration timeout) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (ConnectException notListeningYet) {
+                    // keep polling
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No successful response from " + uri + " within " + timeout + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
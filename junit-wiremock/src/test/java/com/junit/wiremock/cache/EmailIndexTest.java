@@ -0,0 +1,109 @@
+package com.junit.wiremock.cache;
+
+import com.junit.wiremock.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EmailIndex emailIndex;
+
+    @BeforeEach
+    void setUp() {
+        emailIndex = new EmailIndex(userRepository, transactionManager, meterRegistry, true, 10_000, 0.01, 0.2, 500);
+    }
+
+    @Test
+    void isTaken_BeforeLoad_ShouldAskTheDatabase() {
+        when(userRepository.existsByEmail("joao@email.com")).thenReturn(true);
+
+        assertTrue(emailIndex.isTaken("joao@email.com"));
+        verify(userRepository).existsByEmail("joao@email.com");
+    }
+
+    @Test
+    void isTaken_AfterLoad_ShouldSkipTheDatabaseForNewEmails() {
+        when(userRepository.streamAllEmails(500)).thenReturn(Stream.of("joao@email.com", "maria@email.com"));
+        emailIndex.load();
+
+        assertFalse(emailIndex.isTaken("new@email.com"));
+        verify(userRepository, never()).existsByEmail(any());
+        assertEquals(1, lookups("new"));
+    }
+
+    @Test
+    void isTaken_WhenEmailWasLoadedOrAdded_ShouldConfirmWithTheDatabase() {
+        when(userRepository.streamAllEmails(500)).thenReturn(Stream.of("joao@email.com"));
+        emailIndex.load();
+        emailIndex.add("maria@email.com");
+        when(userRepository.existsByEmail(anyString())).thenReturn(true);
+
+        assertTrue(emailIndex.isTaken("joao@email.com"));
+        assertTrue(emailIndex.isTaken("maria@email.com"));
+        assertTrue(emailIndex.isTaken(" MARIA@email.com "));
+        assertEquals(3, lookups("duplicate"));
+    }
+
+    @Test
+    void isTaken_WithManyEmails_ShouldHaveNoFalseNegativesAndFewFalsePositives() {
+        when(userRepository.streamAllEmails(500))
+                .thenReturn(IntStream.range(0, 10_000).mapToObj(i -> "user" + i + "@example.com"));
+        emailIndex.load();
+        lenient().when(userRepository.existsByEmail(anyString()))
+                .thenAnswer(invocation -> invocation.<String>getArgument(0).startsWith("user"));
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(emailIndex.isTaken("user" + i + "@example.com"));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(emailIndex.isTaken("other" + i + "@example.com"));
+        }
+
+        assertTrue(lookups("false-positive") < 200, "false positives: " + lookups("false-positive"));
+    }
+
+    @Test
+    void rebuildIfStale_AfterManyRemovals_ShouldReloadFromTheDatabase() {
+        when(userRepository.streamAllEmails(500))
+                .thenReturn(Stream.of("joao@email.com", "maria@email.com"))
+                .thenReturn(Stream.of("maria@email.com"));
+        emailIndex.load();
+
+        emailIndex.recordRemoval();
+        emailIndex.rebuildIfStale();
+
+        assertFalse(emailIndex.isTaken("joao@email.com"));
+        verify(userRepository, times(2)).streamAllEmails(500);
+    }
+
+    @Test
+    void isTaken_WhenDisabled_ShouldNeverReject() {
+        EmailIndex disabled = new EmailIndex(userRepository, transactionManager, meterRegistry, false, 10_000, 0.01, 0.2, 500);
+
+        assertFalse(disabled.isTaken("joao@email.com"));
+        verifyNoInteractions(userRepository);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.counter("users.email-index.lookups", "result", result).count();
+    }
+}
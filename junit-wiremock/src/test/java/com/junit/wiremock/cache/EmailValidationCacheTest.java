@@ -0,0 +1,59 @@
+package com.junit.wiremock.cache;
+
+import com.junit.wiremock.dto.EmailValidationResponse;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmailValidationCacheTest {
+
+    private final EmailValidationCache cache = new EmailValidationCache(100, Duration.ofMinutes(5), Duration.ofMinutes(1));
+
+    @Test
+    void get_WhenLoaderThrowsError_ShouldReleaseConcurrentCallersAndLetTheNextCallLoad() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<EmailValidationResponse> first = CompletableFuture.supplyAsync(() -> cache.get("john@example.com", email -> {
+            started.countDown();
+            await(release);
+            throw new StackOverflowError();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        AtomicInteger waiterLoads = new AtomicInteger();
+        CompletableFuture<EmailValidationResponse> waiter = CompletableFuture.supplyAsync(
+                () -> cache.get("john@example.com", email -> response(waiterLoads.incrementAndGet() > 0)));
+        while (cache.hitCount() == 0) {
+            Thread.onSpinWait();
+        }
+        assertFalse(waiter.isDone());
+
+        release.countDown();
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(StackOverflowError.class, failure.getCause());
+        assertInstanceOf(StackOverflowError.class,
+                assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS)).getCause());
+        assertEquals(0, waiterLoads.get());
+
+        assertTrue(cache.get("john@example.com", email -> response(true)).isValid());
+    }
+
+    private static EmailValidationResponse response(boolean valid) {
+        EmailValidationResponse response = new EmailValidationResponse();
+        response.setValid(valid);
+        return response;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
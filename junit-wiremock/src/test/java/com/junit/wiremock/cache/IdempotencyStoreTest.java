@@ -0,0 +1,144 @@
+package com.junit.wiremock.cache;
+
+import com.junit.wiremock.entity.User;
+import com.junit.wiremock.exception.IdempotencyKeyReuseException;
+import com.junit.wiremock.exception.InvalidIdempotencyKeyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyStoreTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final IdempotencyStore store = new IdempotencyStore(meterRegistry, 100, Duration.ofHours(1));
+
+    @Test
+    void execute_WhenKeyIsRepeated_ShouldReturnTheStoredUserWithoutRunningAgain() {
+        AtomicInteger creates = new AtomicInteger();
+
+        User first = store.execute("key-1", "john", () -> user(creates.incrementAndGet()));
+        User second = store.execute("key-1", "john", () -> user(creates.incrementAndGet()));
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals(1, creates.get());
+        assertEquals(1, requests("executed"));
+        assertEquals(1, requests("replayed"));
+    }
+
+    @Test
+    void execute_WhenDuplicateArrivesWhileFirstIsRunning_ShouldWaitForItsResult() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger creates = new AtomicInteger();
+        CompletableFuture<User> first = CompletableFuture.supplyAsync(() -> store.execute("key-1", "john", () -> {
+            started.countDown();
+            await(release);
+            return user(creates.incrementAndGet());
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<User> duplicate = CompletableFuture.supplyAsync(
+                () -> store.execute("key-1", "john", () -> user(creates.incrementAndGet())));
+        while (requests("joined") == 0) {
+            Thread.onSpinWait();
+        }
+        assertFalse(duplicate.isDone());
+
+        release.countDown();
+        assertEquals(first.get(5, TimeUnit.SECONDS).getId(), duplicate.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(1, creates.get());
+    }
+
+    @Test
+    void execute_WhenStoreFillsUpWhileFirstIsRunning_ShouldStillJoinTheRunningExecution() throws Exception {
+        MeterRegistry smallRegistry = new SimpleMeterRegistry();
+        IdempotencyStore small = new IdempotencyStore(smallRegistry, 1, Duration.ofHours(1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger creates = new AtomicInteger();
+        CompletableFuture<User> first = CompletableFuture.supplyAsync(() -> small.execute("key-1", "john", () -> {
+            started.countDown();
+            await(release);
+            return user(creates.incrementAndGet());
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        for (int i = 2; i <= 10; i++) {
+            long id = 100 + i;
+            small.execute("key-" + i, "other", () -> user(id));
+        }
+        CompletableFuture<User> duplicate = CompletableFuture.supplyAsync(
+                () -> small.execute("key-1", "john", () -> user(creates.incrementAndGet())));
+        while (smallRegistry.get("users.idempotency.requests").tag("outcome", "joined").counter().count() == 0) {
+            Thread.onSpinWait();
+        }
+
+        release.countDown();
+        assertEquals(first.get(5, TimeUnit.SECONDS).getId(), duplicate.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(1, creates.get());
+    }
+
+    @Test
+    void execute_WhenReplayedUserIsChanged_ShouldNotAffectLaterReplays() {
+        User first = store.execute("key-1", "john", () -> user(1));
+        first.setName("changed after the create");
+
+        User replay = store.execute("key-1", "john", () -> user(2));
+        replay.setName("changed by the caller");
+
+        assertNotSame(first, replay);
+        assertEquals("john", store.execute("key-1", "john", () -> user(3)).getName());
+    }
+
+    @Test
+    void execute_WhenFirstAttemptFails_ShouldLetTheRetryRun() {
+        assertThrows(IllegalStateException.class, () -> store.execute("key-1", "john", () -> {
+            throw new IllegalStateException("validation unavailable");
+        }));
+
+        User retried = store.execute("key-1", "john", () -> user(7));
+
+        assertEquals(7L, retried.getId());
+        assertEquals(2, requests("executed"));
+    }
+
+    @Test
+    void execute_WhenKeyIsReusedForAnotherRequest_ShouldReject() {
+        store.execute("key-1", "john", () -> user(1));
+
+        assertThrows(IdempotencyKeyReuseException.class, () -> store.execute("key-1", "jane", () -> user(2)));
+    }
+
+    @Test
+    void execute_WhenKeyIsBlankOrTooLong_ShouldReject() {
+        assertThrows(InvalidIdempotencyKeyException.class, () -> store.execute(" ", "john", () -> user(1)));
+        assertThrows(InvalidIdempotencyKeyException.class, () -> store.execute("k".repeat(256), "john", () -> user(1)));
+    }
+
+    private double requests(String outcome) {
+        return meterRegistry.get("users.idempotency.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("john");
+        return user;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
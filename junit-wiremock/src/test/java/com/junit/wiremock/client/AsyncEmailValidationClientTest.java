@@ -0,0 +1,289 @@
+package com.junit.wiremock.client;
+
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.junit.wiremock.cache.EmailValidationCache;
+import com.junit.wiremock.config.AsyncHttpClientConfig;
+import com.junit.wiremock.config.EmailValidationResilienceConfig;
+import com.junit.wiremock.dto.EmailValidationResponse;
+import com.junit.wiremock.exception.EmailValidationUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.core.io.Resource;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import tools.jackson.databind.json.JsonMapper;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncEmailValidationClientTest {
+
+    private static final int CLIENT_THREADS = 4;
+    private static final int IN_FLIGHT = 1000;
+    private static final int RETRY_ATTEMPTS = 2;
+    private static final int MINIMUM_CALLS = 4;
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort()
+                    .asynchronousResponseEnabled(true)
+                    .asynchronousResponseThreads(8)
+                    .jettyAcceptQueueSize(IN_FLIGHT))
+            .build();
+
+    private final AsyncHttpClientConfig config = new AsyncHttpClientConfig();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final EmailPreValidator preValidator = new EmailPreValidator(meterRegistry, false,
+            new Resource[0], List.of(), List.of(), Duration.ZERO, 0);
+
+    private final ScheduledExecutorService retryScheduler = config.emailValidationRetryScheduler();
+
+    private ExecutorService executor;
+
+    private HttpClient httpClient;
+
+    private CircuitBreaker circuitBreaker;
+
+    private AsyncEmailValidationClient client;
+
+    @BeforeEach
+    void setUp() {
+        executor = config.emailValidationAsyncExecutor(CLIENT_THREADS, new MockEnvironment());
+        httpClient = config.emailValidationAsyncHttpClient(executor, Duration.ofSeconds(10));
+        client = client(EmailValidationResilience.DegradedPolicy.REJECT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.close();
+        executor.shutdownNow();
+        retryScheduler.shutdownNow();
+    }
+
+    @Test
+    void validateEmail_WithFixedDelay_ShouldKeepThousandsInFlightOnBoundedThreads() throws Exception {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":true,\"reason\":\"Valid email\"}")
+                        .withFixedDelay(1000)));
+
+        assertBoundedConcurrency(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void validateEmail_WithRandomDelay_ShouldKeepThousandsInFlightOnBoundedThreads() throws Exception {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":true,\"reason\":\"Valid email\"}")
+                        .withUniformRandomDelay(200, 1500)));
+
+        assertBoundedConcurrency(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void validateEmail_WhenEmailIsInvalid_ShouldCompleteWithInvalidVerdict() throws Exception {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .withQueryParam("email", equalTo("invalid@fake.com"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"email\":\"invalid@fake.com\",\"valid\":false,\"reason\":\"Domain does not exist\"}")));
+
+        EmailValidationResponse response = client.validateEmail("invalid@fake.com").get(5, TimeUnit.SECONDS);
+
+        assertFalse(response.isValid());
+        assertEquals("Domain does not exist", response.getReason());
+        assertEquals(1, meterRegistry.get("email.validation.requests").tag("outcome", "invalid").timer().count());
+    }
+
+    @Test
+    void validateEmail_WhenAddressHasReservedCharacters_ShouldSendItUnchanged() throws Exception {
+        for (String email : List.of("a+b@example.com", "a&b=c@example.com", "a#b%41@example.com", "\"john doe\"@example.com")) {
+            wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                    .withQueryParam("email", equalTo(email))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withBody("{\"valid\":true,\"reason\":\"Valid email\"}")));
+
+            assertTrue(client.validateEmail(email).get(5, TimeUnit.SECONDS).isValid(), email);
+        }
+
+        wireMock.verify(4, getRequestedFor(urlPathEqualTo("/validate")));
+    }
+
+    @Test
+    void validateEmail_WhenApiReturnsError_ShouldRetryThenFailAsUnavailableAndNotCache() {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse().withStatus(503)));
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            ExecutionException error = assertThrows(ExecutionException.class,
+                    () -> client.validateEmail("test@example.com").get(5, TimeUnit.SECONDS));
+            assertInstanceOf(EmailValidationUnavailableException.class, error.getCause());
+        }
+
+        wireMock.verify(2 * RETRY_ATTEMPTS, getRequestedFor(urlPathEqualTo("/validate")));
+        assertEquals(2 * RETRY_ATTEMPTS, meterRegistry.get("email.validation.requests").tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    void validateEmail_WhenConnectionIsResetOnce_ShouldRetryAndSucceed() throws Exception {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .inScenario("flaky").whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER))
+                .willSetStateTo("recovered"));
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .inScenario("flaky").whenScenarioStateIs("recovered")
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":true,\"reason\":\"Valid email\"}")));
+
+        assertTrue(client.validateEmail("john@example.com").get(5, TimeUnit.SECONDS).isValid());
+        wireMock.verify(2, getRequestedFor(urlPathEqualTo("/validate")));
+    }
+
+    @Test
+    void validateEmail_WhenApiKeepsFailing_ShouldOpenCircuitAndStopCallingIt() {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse().withStatus(503)));
+
+        for (int i = 0; i < 10; i++) {
+            String email = "down" + i + "@example.com";
+            ExecutionException error = assertThrows(ExecutionException.class,
+                    () -> client.validateEmail(email).get(5, TimeUnit.SECONDS));
+            assertInstanceOf(EmailValidationUnavailableException.class, error.getCause());
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(MINIMUM_CALLS, wireMock.getAllServeEvents().size());
+    }
+
+    @Test
+    void validateEmail_WhenApiRejectsRequest_ShouldNotRetryOrOpenCircuit() {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse().withStatus(400)));
+
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            String email = "bad" + i + "@example.com";
+            ExecutionException error = assertThrows(ExecutionException.class,
+                    () -> client.validateEmail(email).get(5, TimeUnit.SECONDS));
+            assertInstanceOf(HttpClientErrorException.class, error.getCause());
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        wireMock.verify(MINIMUM_CALLS, getRequestedFor(urlPathEqualTo("/validate")));
+    }
+
+    @Test
+    void validateEmail_WithAcceptPolicy_ShouldAcceptProvisionallyWhileDown() throws Exception {
+        client = client(EmailValidationResilience.DegradedPolicy.ACCEPT);
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse().withStatus(503)));
+
+        EmailValidationResponse degraded = client.validateEmail("later@example.com").get(5, TimeUnit.SECONDS);
+
+        assertTrue(degraded.isValid());
+        assertTrue(degraded.isProvisional());
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> client.revalidate("later@example.com").get(5, TimeUnit.SECONDS));
+        assertInstanceOf(EmailValidationUnavailableException.class, error.getCause());
+    }
+
+    @Test
+    void validateEmail_WhenApiIsSlow_ShouldTimeOutWithoutRetrying() {
+        ReflectionTestUtils.setField(client, "readTimeout", Duration.ofMillis(300));
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("{\"valid\":true}")
+                        .withFixedDelay(3000)));
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> client.validateEmail("slow@example.com").get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(EmailValidationUnavailableException.class, error.getCause());
+        assertInstanceOf(HttpTimeoutException.class, error.getCause().getCause().getCause());
+        assertEquals(1, meterRegistry.get("email.validation.requests").tag("outcome", "timeout").timer().count());
+    }
+
+    /** The bulkhead admits every request of the concurrency tests, so only the API can limit them. */
+    private AsyncEmailValidationClient client(EmailValidationResilience.DegradedPolicy policy) {
+        circuitBreaker = CircuitBreaker.of("emailValidation", EmailValidationResilienceConfig.circuitBreakerConfig(
+                Duration.ofSeconds(10), MINIMUM_CALLS, 50, Duration.ofSeconds(5), 100, Duration.ofMinutes(1), 1));
+        EmailValidationResilience resilience = new EmailValidationResilience(
+                circuitBreaker,
+                Bulkhead.of("emailValidation", EmailValidationResilienceConfig.bulkheadConfig(IN_FLIGHT, Duration.ZERO)),
+                Retry.of("emailValidation", EmailValidationResilienceConfig.retryConfig(RETRY_ATTEMPTS, Duration.ofMillis(20), 2.0, 0.5)),
+                policy);
+        AsyncEmailValidationClient client = new AsyncEmailValidationClient(httpClient, JsonMapper.builder().build(),
+                new EmailValidationCache(10_000, Duration.ofMinutes(5), Duration.ofMinutes(1)), resilience, retryScheduler,
+                meterRegistry, preValidator);
+        ReflectionTestUtils.setField(client, "apiUrl", wireMock.baseUrl());
+        ReflectionTestUtils.setField(client, "readTimeout", Duration.ofSeconds(10));
+        return client;
+    }
+
+    private void assertBoundedConcurrency(Duration limit) throws Exception {
+        int baseline = clientThreadCount();
+        AtomicInteger peakClientThreads = new AtomicInteger(baseline);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakClientThreads.accumulateAndGet(clientThreadCount(), Math::max),
+                0, 50, TimeUnit.MILLISECONDS);
+        try {
+            long start = System.nanoTime();
+            List<CompletableFuture<EmailValidationResponse>> futures = new ArrayList<>(IN_FLIGHT);
+            for (int i = 0; i < IN_FLIGHT; i++) {
+                futures.add(client.validateEmail("user" + i + "@example.com"));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(limit.toSeconds(), TimeUnit.SECONDS);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            assertTrue(futures.stream().allMatch(future -> future.join().isValid()));
+            assertEquals(IN_FLIGHT, meterRegistry.get("email.validation.requests").tag("outcome", "valid").timer().count());
+            // Sequentially on CLIENT_THREADS blocking threads this would take IN_FLIGHT / CLIENT_THREADS seconds.
+            assertTrue(elapsed.compareTo(limit) < 0, "took " + elapsed);
+            int addedThreads = peakClientThreads.get() - baseline;
+            assertTrue(addedThreads <= CLIENT_THREADS,
+                    "client started " + addedThreads + " threads for " + IN_FLIGHT + " requests");
+        } finally {
+            sampler.shutdownNow();
+        }
+    }
+
+    private static int clientThreadCount() {
+        return (int) Thread.getAllStackTraces().keySet().stream()
+                .map(Thread::getName)
+                .filter(name -> name.startsWith("email-validation-async-") || name.startsWith("HttpClient-"))
+                .count();
+    }
+}
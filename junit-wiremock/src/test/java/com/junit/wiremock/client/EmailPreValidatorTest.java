@@ -0,0 +1,102 @@
+package com.junit.wiremock.client;
+
+import com.junit.wiremock.dto.EmailValidationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmailPreValidatorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final EmailPreValidator preValidator = new EmailPreValidator(meterRegistry, true,
+            new Resource[] {list("# throwaway\nmailinator.com\n\n  YopMail.com \n"), list("trashmail.com\n")},
+            List.of("Partner.example"), List.of("Domain does not exist", "no MX record"), Duration.ofHours(1), 100);
+
+    @Test
+    void validate_WhenSyntaxIsInvalid_ShouldRejectLocally() {
+        EmailValidationResponse response = preValidator.validate("john@@example.com").orElseThrow();
+
+        assertFalse(response.isValid());
+        assertEquals("john@@example.com", response.getEmail());
+        assertEquals(EmailSyntax.Result.INVALID_DOMAIN.reason(), response.getReason());
+        assertEquals(1, avoided("invalid-syntax"));
+    }
+
+    @Test
+    void validate_WhenDomainIsDisposable_ShouldRejectItAndItsSubdomains() {
+        assertFalse(preValidator.validate("john@mailinator.com").orElseThrow().isValid());
+        assertFalse(preValidator.validate("john@Eu.YOPMAIL.com").orElseThrow().isValid());
+        assertFalse(preValidator.validate(" john@trashmail.com ").orElseThrow().isValid());
+        assertEquals(Optional.empty(), preValidator.validate("john@notmailinator.com"));
+        assertEquals(3, avoided("disposable-domain"));
+    }
+
+    @Test
+    void validate_WhenDomainIsTrusted_ShouldAcceptLocally() {
+        EmailValidationResponse response = preValidator.validate("jane@mail.partner.example").orElseThrow();
+
+        assertTrue(response.isValid());
+        assertEquals(1, avoided("trusted-domain"));
+    }
+
+    @Test
+    void validate_WhenDomainIsUnknown_ShouldLeaveItToTheApi() {
+        assertEquals(Optional.empty(), preValidator.validate("john@example.com"));
+    }
+
+    @Test
+    void remember_WhenApiRejectsTheDomain_ShouldRejectOtherAddressesOnIt() {
+        preValidator.remember("john@nowhere.example", response("john@nowhere.example", false, "Domain does not exist"));
+
+        EmailValidationResponse response = preValidator.validate("jane@NOWHERE.example").orElseThrow();
+
+        assertFalse(response.isValid());
+        assertEquals("Domain does not exist", response.getReason());
+        assertEquals(1, avoided("rejected-domain"));
+
+        preValidator.forgetRejectedDomains();
+        assertEquals(Optional.empty(), preValidator.validate("jane@nowhere.example"));
+    }
+
+    @Test
+    void remember_WhenApiRejectsOnlyTheMailbox_ShouldNotRememberTheDomain() {
+        preValidator.remember("john@example.com", response("john@example.com", false, "Mailbox not found"));
+        preValidator.remember("jane@example.org", response("jane@example.org", true, "Valid email"));
+
+        assertEquals(Optional.empty(), preValidator.validate("other@example.com"));
+        assertEquals(Optional.empty(), preValidator.validate("other@example.org"));
+    }
+
+    @Test
+    void validate_WhenDisabled_ShouldLeaveEverythingToTheApi() {
+        EmailPreValidator disabled = new EmailPreValidator(meterRegistry, false,
+                new Resource[] {list("mailinator.com")}, List.of(), List.of(), Duration.ofHours(1), 100);
+
+        assertEquals(Optional.empty(), disabled.validate("not-an-email"));
+        assertEquals(Optional.empty(), disabled.validate("john@mailinator.com"));
+    }
+
+    private double avoided(String reason) {
+        return meterRegistry.get("email.validation.remote.avoided").tag("reason", reason).counter().count();
+    }
+
+    private static Resource list(String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static EmailValidationResponse response(String email, boolean valid, String reason) {
+        EmailValidationResponse response = new EmailValidationResponse();
+        response.setEmail(email);
+        response.setValid(valid);
+        response.setReason(reason);
+        return response;
+    }
+}
@@ -0,0 +1,51 @@
+package com.junit.wiremock.client;
+
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmailSyntaxTest {
+
+    @Test
+    void check_WhenAddressIsWellFormed_ShouldBeValid() {
+        List<String> valid = List.of(
+                "john@example.com",
+                "john.doe+tag@mail.example.co.uk",
+                "o'brien@example.ie",
+                "user_name-1@sub-domain.example.org",
+                "\"john doe\"@example.com",
+                "\"quoted\\\"escape\"@example.com",
+                "admin@[192.168.0.1]",
+                "josé@exämple.de",
+                "x@a.io");
+
+        for (String email : valid) {
+            assertEquals(EmailSyntax.Result.VALID, EmailSyntax.check(email), email);
+        }
+    }
+
+    @Test
+    void check_WhenAddressIsMalformed_ShouldNameTheProblem() {
+        assertEquals(EmailSyntax.Result.EMPTY, EmailSyntax.check(""));
+        assertEquals(EmailSyntax.Result.EMPTY, EmailSyntax.check(null));
+        assertEquals(EmailSyntax.Result.MISSING_AT, EmailSyntax.check("john.example.com"));
+        assertEquals(EmailSyntax.Result.INVALID_LOCAL_PART, EmailSyntax.check(".john@example.com"));
+        assertEquals(EmailSyntax.Result.INVALID_LOCAL_PART, EmailSyntax.check("john.@example.com"));
+        assertEquals(EmailSyntax.Result.INVALID_LOCAL_PART, EmailSyntax.check("john..doe@example.com"));
+        assertEquals(EmailSyntax.Result.INVALID_LOCAL_PART, EmailSyntax.check("john doe@example.com"));
+        assertEquals(EmailSyntax.Result.INVALID_LOCAL_PART, EmailSyntax.check("\"unterminated@example.com"));
+        assertEquals(EmailSyntax.Result.INVALID_LOCAL_PART, EmailSyntax.check("@example.com"));
+        assertEquals(EmailSyntax.Result.LOCAL_PART_TOO_LONG, EmailSyntax.check("a".repeat(65) + "@example.com"));
+        assertEquals(EmailSyntax.Result.INVALID_DOMAIN, EmailSyntax.check("john@"));
+        assertEquals(EmailSyntax.Result.INVALID_DOMAIN, EmailSyntax.check("john@localhost"));
+        assertEquals(EmailSyntax.Result.INVALID_DOMAIN, EmailSyntax.check("john@example..com"));
+        assertEquals(EmailSyntax.Result.INVALID_DOMAIN, EmailSyntax.check("john@-example.com"));
+        assertEquals(EmailSyntax.Result.INVALID_DOMAIN, EmailSyntax.check("john@example-.com"));
+        assertEquals(EmailSyntax.Result.INVALID_DOMAIN, EmailSyntax.check("john@example.com."));
+        assertEquals(EmailSyntax.Result.INVALID_DOMAIN, EmailSyntax.check("john@192.168.0.1"));
+        assertEquals(EmailSyntax.Result.INVALID_DOMAIN, EmailSyntax.check("john@exa_mple.com"));
+        assertEquals(EmailSyntax.Result.INVALID_DOMAIN, EmailSyntax.check("john@example.com@other.com"));
+        assertEquals(EmailSyntax.Result.INVALID_DOMAIN, EmailSyntax.check("john@" + "a".repeat(64) + ".com"));
+        assertEquals(EmailSyntax.Result.TOO_LONG, EmailSyntax.check("john@" + "a.".repeat(125) + "com"));
+    }
+}
@@ -0,0 +1,136 @@
+package com.junit.wiremock.client;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.junit.wiremock.cache.EmailValidationCache;
+import com.junit.wiremock.config.EmailValidationResilienceConfig;
+import com.junit.wiremock.dto.EmailValidationResponse;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmailValidationBatcherTest {
+
+    private static final int CALLERS = 200;
+
+    /** Serves the same stubs as the docker-compose mock, including the batch endpoint. */
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort().containerThreads(50)
+                    .usingFilesUnderDirectory("../wiremock docker/wiremock"))
+            .build();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final EmailPreValidator preValidator = new EmailPreValidator(meterRegistry, false,
+            new Resource[0], List.of(), List.of(), Duration.ZERO, 0);
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private final ExecutorService sender = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        scheduler.shutdownNow();
+        sender.shutdownNow();
+    }
+
+    @Test
+    void validateEmail_WhenCalledConcurrently_ShouldCoalesceIntoBatchRequests() throws Exception {
+        EmailValidationClient batching = client(true);
+        EmailValidationClient single = client(false);
+
+        List<EmailValidationResponse> responses = validateConcurrently(batching, "batched");
+        int batchRequests = wireMock.findAll(postRequestedFor(urlPathEqualTo("/validate/batch"))).size();
+        validateConcurrently(single, "single");
+        int singleRequests = wireMock.findAll(getRequestedFor(urlPathEqualTo("/validate"))).size();
+
+        assertTrue(responses.stream().allMatch(EmailValidationResponse::isValid));
+        assertEquals("batched7@example.com", responses.get(7).getEmail());
+        assertEquals(CALLERS, singleRequests);
+        assertTrue(batchRequests * 10 <= singleRequests,
+                batchRequests + " batch requests replaced " + singleRequests + " single requests");
+        assertEquals(CALLERS, meterRegistry.summary("email.validation.batch.size").totalAmount());
+    }
+
+    @Test
+    void validateEmail_WhenBatchEndpointIsMissing_ShouldFallBackToSingleRequests() throws Exception {
+        wireMock.stubFor(post(urlPathEqualTo("/validate/batch"))
+                .atPriority(1)
+                .willReturn(aResponse().withStatus(404)));
+        EmailValidationClient client = client(true);
+
+        List<EmailValidationResponse> first = validateConcurrently(client, "first");
+        int batchRequests = wireMock.findAll(postRequestedFor(urlPathEqualTo("/validate/batch"))).size();
+        List<EmailValidationResponse> second = validateConcurrently(client, "second");
+
+        assertTrue(first.stream().allMatch(EmailValidationResponse::isValid));
+        assertTrue(second.stream().allMatch(EmailValidationResponse::isValid));
+        wireMock.verify(2 * CALLERS, getRequestedFor(urlPathEqualTo("/validate")));
+        wireMock.verify(batchRequests, postRequestedFor(urlPathEqualTo("/validate/batch")));
+    }
+
+    @Test
+    void validateEmail_WhenBatchResponseOmitsAnAddress_ShouldValidateItOnItsOwn() {
+        wireMock.stubFor(post(urlPathEqualTo("/validate/batch"))
+                .atPriority(1)
+                .willReturn(okJson("{\"results\": []}")));
+        EmailValidationClient client = client(true);
+
+        EmailValidationResponse response = client.validateEmail("john@example.com");
+
+        assertTrue(response.isValid());
+        wireMock.verify(1, postRequestedFor(urlPathEqualTo("/validate/batch")));
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/validate")).withQueryParam("email", equalTo("john@example.com")));
+    }
+
+    private List<EmailValidationResponse> validateConcurrently(EmailValidationClient client, String prefix)
+            throws Exception {
+        List<Future<EmailValidationResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            String email = prefix + i + "@example.com";
+            futures.add(callers.submit(() -> client.validateEmail(email)));
+        }
+        List<EmailValidationResponse> responses = new ArrayList<>();
+        for (Future<EmailValidationResponse> future : futures) {
+            responses.add(future.get());
+        }
+        return responses;
+    }
+
+    private EmailValidationClient client(boolean batchingEnabled) {
+        EmailValidationResilience resilience = new EmailValidationResilience(
+                CircuitBreaker.ofDefaults("emailValidation"),
+                Bulkhead.of("emailValidation", EmailValidationResilienceConfig.bulkheadConfig(CALLERS, Duration.ZERO)),
+                Retry.of("emailValidation", EmailValidationResilienceConfig.retryConfig(1, Duration.ofMillis(20), 2.0, 0.5)),
+                EmailValidationResilience.DegradedPolicy.REJECT);
+        RestTemplate restTemplate = new RestTemplate();
+        EmailValidationBatcher batcher = new EmailValidationBatcher(restTemplate, resilience, meterRegistry,
+                scheduler, sender, wireMock.baseUrl(), batchingEnabled, 50, Duration.ofMillis(20), Duration.ofMinutes(5));
+        EmailValidationClient client = new EmailValidationClient(restTemplate,
+                new EmailValidationCache(1000, Duration.ofMinutes(5), Duration.ofMinutes(1)), resilience, batcher,
+                meterRegistry, preValidator);
+        ReflectionTestUtils.setField(client, "apiUrl", wireMock.baseUrl());
+        return client;
+    }
+}
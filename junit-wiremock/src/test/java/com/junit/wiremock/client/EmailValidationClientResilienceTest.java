@@ -0,0 +1,278 @@
+package com.junit.wiremock.client;
+
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.junit.wiremock.cache.EmailValidationCache;
+import com.junit.wiremock.config.EmailValidationResilienceConfig;
+import com.junit.wiremock.config.RestTemplateConfig;
+import com.junit.wiremock.dto.EmailValidationResponse;
+import com.junit.wiremock.exception.EmailValidationUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmailValidationClientResilienceTest {
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort().containerThreads(50))
+            .build();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final EmailPreValidator preValidator = new EmailPreValidator(meterRegistry, false,
+            new Resource[0], List.of(), List.of(), Duration.ZERO, 0);
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(30);
+
+    private CircuitBreaker circuitBreaker;
+
+    private EmailValidationResilience resilience;
+
+    private CloseableHttpClient httpClient;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        callers.shutdownNow();
+        if (httpClient != null) {
+            httpClient.close();
+        }
+    }
+
+    @Test
+    void validateEmail_WhenConnectionIsResetOnce_ShouldRetryAndSucceed() {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .inScenario("flaky").whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER))
+                .willSetStateTo("recovered"));
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .inScenario("flaky").whenScenarioStateIs("recovered")
+                .willReturn(validResponse()));
+
+        EmailValidationResponse response = client(EmailValidationResilience.DegradedPolicy.REJECT, 5, Duration.ofSeconds(1))
+                .validateEmail("john@example.com");
+
+        assertTrue(response.isValid());
+        wireMock.verify(2, getRequestedFor(urlPathEqualTo("/validate")));
+    }
+
+    @Test
+    void validateEmail_WhenApiReturns503_ShouldSendOneRequestPerRetryAttempt() {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse().withStatus(503).withHeader("Retry-After", "1")));
+        EmailValidationClient client = client(EmailValidationResilience.DegradedPolicy.REJECT, 5, Duration.ofSeconds(1));
+
+        long start = System.nanoTime();
+        assertThrows(EmailValidationUnavailableException.class, () -> client.validateEmail("john@example.com"));
+
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 500, "retries waited for the Retry-After header");
+        wireMock.verify(3, getRequestedFor(urlPathEqualTo("/validate")));
+    }
+
+    @Test
+    void validateEmail_WhenConnectionIsAlwaysReset_ShouldSendOneRequestPerRetryAttempt() {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+        EmailValidationClient client = client(EmailValidationResilience.DegradedPolicy.REJECT, 5, Duration.ofSeconds(1));
+
+        assertThrows(EmailValidationUnavailableException.class, () -> client.validateEmail("john@example.com"));
+
+        wireMock.verify(3, getRequestedFor(urlPathEqualTo("/validate")));
+    }
+
+    @Test
+    void validateEmail_WhenApiKeepsFailing_ShouldOpenCircuitAndFailFast() {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse().withStatus(503)));
+        EmailValidationClient client = client(EmailValidationResilience.DegradedPolicy.REJECT, 5, Duration.ofSeconds(1));
+
+        List<Long> latenciesMs = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String email = "user" + i + "@example.com";
+            long start = System.nanoTime();
+            assertThrows(EmailValidationUnavailableException.class, () -> client.validateEmail(email));
+            latenciesMs.add((System.nanoTime() - start) / 1_000_000);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        int requests = wireMock.findAll(getRequestedFor(urlPathEqualTo("/validate"))).size();
+        assertTrue(requests < 20, "sent " + requests + " requests to a failing API");
+        assertTrue(latenciesMs.subList(20, 40).stream().allMatch(latency -> latency < 20),
+                "open circuit calls took " + latenciesMs.subList(20, 40));
+    }
+
+    @Test
+    void validateEmail_WhenCircuitIsOpenAndApiRecovers_ShouldCloseAgain() throws Exception {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse().withStatus(500)));
+        EmailValidationClient client = client(EmailValidationResilience.DegradedPolicy.REJECT, 5, Duration.ofSeconds(1));
+        for (int i = 0; i < 5; i++) {
+            String email = "down" + i + "@example.com";
+            assertThrows(EmailValidationUnavailableException.class, () -> client.validateEmail(email));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(validResponse()));
+        Thread.sleep(600);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(client.validateEmail("up" + i + "@example.com").isValid());
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void validateEmail_WhenConnectionsAreReset_ShouldKeepTailLatencyBounded() throws Exception {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+        EmailValidationClient client = client(EmailValidationResilience.DegradedPolicy.REJECT, 10, Duration.ofSeconds(1));
+
+        List<Long> latenciesMs = callConcurrently(client, 300);
+
+        assertTrue(percentile(latenciesMs, 0.99) < 1000, "p99 was " + percentile(latenciesMs, 0.99) + "ms");
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void validateEmail_WhenApiIsSlow_ShouldShedCallsBeyondTheBulkhead() throws Exception {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(validResponse().withFixedDelay(3000)));
+        EmailValidationClient client = client(EmailValidationResilience.DegradedPolicy.REJECT, 5, Duration.ofMillis(500));
+
+        List<Long> latenciesMs = callConcurrently(client, 30);
+
+        assertTrue(Collections.max(latenciesMs) < 1500, "slowest call took " + Collections.max(latenciesMs) + "ms");
+        int requests = wireMock.findAll(getRequestedFor(urlPathEqualTo("/validate"))).size();
+        assertTrue(requests <= 10, "sent " + requests + " requests past a bulkhead of 5");
+    }
+
+    @Test
+    void validateEmail_WhenAddressHasReservedCharacters_ShouldSendItUnchanged() {
+        EmailValidationClient client = client(EmailValidationResilience.DegradedPolicy.REJECT, 5, Duration.ofSeconds(1));
+
+        for (String email : List.of("a+b@example.com", "a&b=c@example.com", "a#b%41@example.com", "\"john doe\"@example.com")) {
+            wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                    .withQueryParam("email", equalTo(email))
+                    .willReturn(validResponse()));
+
+            assertTrue(client.validateEmail(email).isValid(), email);
+        }
+
+        wireMock.verify(4, getRequestedFor(urlPathEqualTo("/validate")));
+    }
+
+    @Test
+    void validateEmail_WhenApiRejectsRequest_ShouldNotRetryOrOpenCircuit() {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse().withStatus(400)));
+        EmailValidationClient client = client(EmailValidationResilience.DegradedPolicy.REJECT, 5, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 20; i++) {
+            String email = "bad" + i + "@example.com";
+            assertThrows(HttpClientErrorException.class, () -> client.validateEmail(email));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        wireMock.verify(20, getRequestedFor(urlPathEqualTo("/validate")));
+    }
+
+    @Test
+    void validateEmail_WithAcceptPolicy_ShouldAcceptProvisionallyWhileDownWithoutCaching() throws Exception {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse().withStatus(503)));
+        EmailValidationClient client = client(EmailValidationResilience.DegradedPolicy.ACCEPT, 5, Duration.ofSeconds(1));
+
+        EmailValidationResponse degraded = client.validateEmail("later@fake.com");
+
+        assertTrue(degraded.isValid());
+        assertTrue(degraded.isProvisional());
+        assertEquals(EmailValidationResilience.DEGRADED_REASON, degraded.getReason());
+        assertThrows(EmailValidationUnavailableException.class, () -> client.revalidate("later@fake.com"));
+
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"email\":\"later@fake.com\",\"valid\":false,\"reason\":\"Domain does not exist\"}")));
+        Thread.sleep(600);
+
+        EmailValidationResponse verdict = client.validateEmail("later@fake.com");
+        assertFalse(verdict.isValid());
+        assertFalse(verdict.isProvisional());
+    }
+
+    private EmailValidationClient client(EmailValidationResilience.DegradedPolicy policy, int maxConcurrentCalls,
+                                         Duration readTimeout) {
+        circuitBreaker = CircuitBreaker.of("emailValidation", EmailValidationResilienceConfig.circuitBreakerConfig(
+                Duration.ofSeconds(10), 5, 50, Duration.ofSeconds(2), 80, Duration.ofMillis(500), 3));
+        resilience = new EmailValidationResilience(
+                circuitBreaker,
+                Bulkhead.of("emailValidation", EmailValidationResilienceConfig.bulkheadConfig(maxConcurrentCalls, Duration.ZERO)),
+                Retry.of("emailValidation", EmailValidationResilienceConfig.retryConfig(3, Duration.ofMillis(20), 2.0, 0.5)),
+                policy);
+        RestTemplateConfig config = new RestTemplateConfig();
+        httpClient = config.emailValidationHttpClient(
+                config.emailValidationConnectionManager(50, 50, Duration.ofSeconds(1), readTimeout, Duration.ofMinutes(5)),
+                readTimeout, Duration.ofMillis(500), Duration.ofSeconds(30), Duration.ofSeconds(30));
+        RestTemplate restTemplate = config.restTemplate(httpClient);
+        EmailValidationBatcher singleRequests = new EmailValidationBatcher(restTemplate, resilience, meterRegistry,
+                null, null, wireMock.baseUrl(), false, 1, Duration.ZERO, Duration.ZERO);
+        EmailValidationClient client = new EmailValidationClient(restTemplate,
+                new EmailValidationCache(100, Duration.ofMinutes(5), Duration.ofMinutes(1)), resilience,
+                singleRequests, meterRegistry, preValidator);
+        ReflectionTestUtils.setField(client, "apiUrl", wireMock.baseUrl());
+        return client;
+    }
+
+    private List<Long> callConcurrently(EmailValidationClient client, int calls) throws Exception {
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            String email = "load" + i + "@example.com";
+            futures.add(callers.submit(() -> {
+                long start = System.nanoTime();
+                assertThrows(EmailValidationUnavailableException.class, () -> client.validateEmail(email));
+                return (System.nanoTime() - start) / 1_000_000;
+            }));
+        }
+        List<Long> latenciesMs = new ArrayList<>();
+        for (Future<Long> future : futures) {
+            latenciesMs.add(future.get());
+        }
+        return latenciesMs;
+    }
+
+    private static long percentile(List<Long> values, double percentile) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(percentile * sorted.size()) - 1);
+    }
+
+    private static com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder validResponse() {
+        return aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"valid\":true,\"reason\":\"Valid email\"}");
+    }
+}
@@ -0,0 +1,208 @@
+package com.junit.wiremock.config;
+
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.http.trafficlistener.WiremockNetworkTrafficListener;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RestTemplateConfigTest {
+
+    private static final AtomicInteger openedConnections = new AtomicInteger();
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort()
+                    .containerThreads(50)
+                    .networkTrafficListener(new ConnectionCountingListener()))
+            .build();
+
+    private final RestTemplateConfig config = new RestTemplateConfig();
+
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() {
+        openedConnections.set(0);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+    }
+
+    @Test
+    void restTemplate_UnderConcurrentLoad_ShouldReuseConnections() throws Exception {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":true}")));
+
+        PoolingHttpClientConnectionManager connectionManager = connectionManager(5, Duration.ofSeconds(2));
+        RestTemplate restTemplate = restTemplate(connectionManager, Duration.ofSeconds(2), Duration.ofSeconds(2));
+
+        List<Integer> statuses = runConcurrently(20, 200,
+                () -> restTemplate.getForEntity(wireMock.baseUrl() + "/validate?email=a@b.com", String.class)
+                        .getStatusCode().value());
+
+        assertTrue(statuses.stream().allMatch(status -> status == 200));
+        wireMock.verify(200, getRequestedFor(urlPathEqualTo("/validate")));
+        assertTrue(openedConnections.get() <= 5, "opened " + openedConnections.get() + " connections for 200 requests");
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+        assertTrue(connectionManager.getTotalStats().getAvailable() > 0);
+    }
+
+    @Test
+    void restTemplate_WhenUpstreamIsSlow_ShouldFailOnReadTimeout() throws Exception {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(3000)));
+
+        PoolingHttpClientConnectionManager connectionManager = connectionManager(20, Duration.ofMillis(200));
+        RestTemplate restTemplate = restTemplate(connectionManager, Duration.ofMillis(200), Duration.ofSeconds(2));
+
+        long start = System.nanoTime();
+        List<Boolean> timedOut = runConcurrently(10, 10, () -> {
+            try {
+                restTemplate.getForObject(wireMock.baseUrl() + "/validate?email=a@b.com", String.class);
+                return false;
+            } catch (ResourceAccessException e) {
+                return true;
+            }
+        });
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertTrue(timedOut.stream().allMatch(Boolean::booleanValue));
+        assertTrue(elapsed.compareTo(Duration.ofMillis(1500)) < 0, "took " + elapsed);
+    }
+
+    @Test
+    void restTemplate_WhenPoolIsExhausted_ShouldFailOnConnectionRequestTimeout() throws Exception {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withBody("{\"valid\":true}")
+                        .withFixedDelay(1000)));
+
+        PoolingHttpClientConnectionManager connectionManager = connectionManager(2, Duration.ofSeconds(3));
+        RestTemplate restTemplate = restTemplate(connectionManager, Duration.ofSeconds(3), Duration.ofMillis(100));
+
+        List<Boolean> rejected = runConcurrently(6, 6, () -> {
+            try {
+                restTemplate.getForObject(wireMock.baseUrl() + "/validate?email=a@b.com", String.class);
+                return false;
+            } catch (ResourceAccessException e) {
+                return true;
+            }
+        });
+
+        assertEquals(2, rejected.stream().filter(r -> !r).count());
+        assertEquals(4, rejected.stream().filter(r -> r).count());
+        assertTrue(openedConnections.get() <= 2);
+    }
+
+    @Test
+    void restTemplate_WhenUpstreamFails_ShouldSendTheRequestOnlyOnce() {
+        RestTemplate restTemplate = restTemplate(connectionManager(5, Duration.ofSeconds(2)),
+                Duration.ofSeconds(2), Duration.ofSeconds(2));
+
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse().withStatus(503).withHeader("Retry-After", "1")));
+        long start = System.nanoTime();
+        assertThrows(HttpServerErrorException.class,
+                () -> restTemplate.getForObject(wireMock.baseUrl() + "/validate?email=a@b.com", String.class));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(500)) < 0);
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/validate")));
+
+        wireMock.resetRequests();
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+        assertThrows(ResourceAccessException.class,
+                () -> restTemplate.getForObject(wireMock.baseUrl() + "/validate?email=a@b.com", String.class));
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/validate")));
+    }
+
+    private PoolingHttpClientConnectionManager connectionManager(int maxConnections, Duration readTimeout) {
+        return config.emailValidationConnectionManager(maxConnections, maxConnections,
+                Duration.ofSeconds(1), readTimeout, Duration.ofMinutes(5));
+    }
+
+    private RestTemplate restTemplate(PoolingHttpClientConnectionManager connectionManager,
+                                      Duration readTimeout, Duration connectionRequestTimeout) {
+        httpClient = config.emailValidationHttpClient(connectionManager, readTimeout, connectionRequestTimeout,
+                Duration.ofSeconds(30), Duration.ofSeconds(30));
+        return config.restTemplate(httpClient);
+    }
+
+    private static <T> List<T> runConcurrently(int threads, int calls, Callable<T> call) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < calls; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new AssertionError(e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class ConnectionCountingListener implements WiremockNetworkTrafficListener {
+
+        @Override
+        public void opened(Socket socket) {
+            openedConnections.incrementAndGet();
+        }
+
+        @Override
+        public void incoming(Socket socket, ByteBuffer bytes) {
+        }
+
+        @Override
+        public void outgoing(Socket socket, ByteBuffer bytes) {
+        }
+
+        @Override
+        public void closed(Socket socket) {
+        }
+    }
+}
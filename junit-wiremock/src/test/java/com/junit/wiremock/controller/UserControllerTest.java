@@ -1,5 +1,6 @@
 package com.junit.wiremock.controller;
 
+import com.junit.wiremock.dto.UserPage;
 import com.junit.wiremock.entity.User;
 import com.junit.wiremock.service.UserService;
 import org.junit.jupiter.api.Test;
@@ -8,9 +9,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import java.util.Arrays;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -24,25 +33,39 @@ public class UserControllerTest {
     private UserController userController;
 
     @Test
-    void getAllUsers_ShouldReturnUserList() {
-        User user1 = new User();
-        user1.setId(1L);
-        user1.setName("João");
-        user1.setEmail("joao@email.com");
-        
-        User user2 = new User();
-        user2.setId(2L);
-        user2.setName("Maria");
-        user2.setEmail("maria@email.com");
-        
-        List<User> users = Arrays.asList(user1, user2);
-        when(userService.getAllUsers()).thenReturn(users);
+    void getAllUsers_ShouldStreamUserList() throws Exception {
+        when(userService.getUsersChangeSeq()).thenReturn(2L);
+        when(userService.writeAllUsers(any())).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("[{\"id\":1},{\"id\":2}]".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
 
-        ResponseEntity<List<User>> response = userController.getAllUsers();
+        ResponseEntity<StreamingResponseBody> response = userController.getAllUsers(new ServletWebRequest(new MockHttpServletRequest()));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(2, response.getBody().size());
-        verify(userService).getAllUsers();
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("[{\"id\":1},{\"id\":2}]", body.toString(StandardCharsets.UTF_8));
+        verify(userService, never()).getAllUsers();
+    }
+
+    @Test
+    void getUsersAfterCursor_ShouldReturnUserPage() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("João");
+        user.setEmail("joao@email.com");
+
+        UserPage page = new UserPage(List.of(user), 20, "MQ");
+        when(userService.getUsersAfter("", 20)).thenReturn(page);
+
+        ResponseEntity<UserPage> response = userController.getUsersAfterCursor("", 20);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getContent().size());
+        assertEquals("MQ", response.getBody().getNext());
+        verify(userService).getUsersAfter("", 20);
     }
 
     @Test
@@ -52,15 +75,48 @@ public class UserControllerTest {
         user.setName("João");
         user.setEmail("joao@email.com");
         
+        user.setVersion(3L);
+        
         when(userService.getUserById(1L)).thenReturn(user);
 
-        ResponseEntity<User> response = userController.getUserById(1L);
+        ResponseEntity<User> response = userController.getUserById(1L, new ServletWebRequest(new MockHttpServletRequest()));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("João", response.getBody().getName());
+        assertEquals("\"3\"", response.getHeaders().getETag());
         verify(userService).getUserById(1L);
     }
 
+    @Test
+    void getUserById_WhenETagMatches_ShouldReturn304WithoutBody() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/users/1");
+        servletRequest.addHeader("If-None-Match", "\"3\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        User user = new User();
+        user.setId(1L);
+        user.setVersion(3L);
+
+        when(userService.getUserById(1L)).thenReturn(user);
+
+        ResponseEntity<User> response = userController.getUserById(1L, new ServletWebRequest(servletRequest, servletResponse));
+
+        assertNull(response);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+    }
+
+    @Test
+    void getAllUsers_WhenETagMatches_ShouldNotQueryUsers() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/users");
+        servletRequest.addHeader("If-None-Match", "W/\"7\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        when(userService.getUsersChangeSeq()).thenReturn(7L);
+
+        assertNull(userController.getAllUsers(new ServletWebRequest(servletRequest, servletResponse)));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+        verify(userService, never()).writeAllUsers(any());
+    }
+
     @Test
     void createUser_ShouldReturnCreatedUser() {
         User user = new User();
@@ -74,13 +130,57 @@ public class UserControllerTest {
         
         when(userService.createUser(user)).thenReturn(savedUser);
 
-        ResponseEntity<User> response = userController.createUser(user);
+        ResponseEntity<User> response = userController.createUser(user, null);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals(1L, response.getBody().getId());
         verify(userService).createUser(user);
     }
 
+    @Test
+    void createUser_WithIdempotencyKey_ShouldPassTheKeyToTheService() {
+        User user = new User();
+        user.setName("João");
+        user.setEmail("joao@email.com");
+
+        User savedUser = new User();
+        savedUser.setId(1L);
+        savedUser.setName("João");
+        savedUser.setEmail("joao@email.com");
+
+        when(userService.createUser(user, "key-1")).thenReturn(savedUser);
+
+        ResponseEntity<User> response = userController.createUser(user, "key-1");
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(1L, response.getBody().getId());
+        verify(userService).createUser(user, "key-1");
+        verify(userService, never()).createUser(user);
+    }
+
+    @Test
+    void createUserAsync_ShouldReturnCreatedUserWhenValidationCompletes() {
+        User user = new User();
+        user.setName("João");
+        user.setEmail("joao@email.com");
+
+        User savedUser = new User();
+        savedUser.setId(1L);
+        savedUser.setName("João");
+        savedUser.setEmail("joao@email.com");
+
+        CompletableFuture<User> pending = new CompletableFuture<>();
+        when(userService.createUserAsync(user)).thenReturn(pending);
+
+        CompletableFuture<ResponseEntity<User>> response = userController.createUserAsync(user);
+
+        assertFalse(response.isDone());
+        pending.complete(savedUser);
+        assertEquals(HttpStatus.CREATED, response.join().getStatusCode());
+        assertEquals(1L, response.join().getBody().getId());
+        verify(userService).createUserAsync(user);
+    }
+
     @Test
     void updateUser_ShouldReturnUpdatedUser() {
         User user = new User();
@@ -0,0 +1,132 @@
+package com.junit.wiremock.integration;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.junit.wiremock.limit.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "users.concurrency-limit.writes.initial-limit=2",
+        "users.concurrency-limit.writes.min-limit=2",
+        "users.concurrency-limit.writes.max-limit=2",
+        "users.concurrency-limit.reads.initial-limit=1",
+        "users.concurrency-limit.reads.min-limit=1",
+        "users.concurrency-limit.reads.max-limit=1",
+        "users.concurrency-limit.retry-after=1500ms"
+})
+public class ConcurrencyLimitIntegrationTest {
+
+    private static final int WRITERS = 6;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter userReadLimiter;
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("email.validation.api.url", wireMock::baseUrl);
+    }
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+    }
+
+    @Test
+    void createUser_WhenWritesExceedTheLimit_ShouldShedTheExcessWhileReadsGoThrough() throws Exception {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":true,\"reason\":\"Valid email\"}")
+                        .withFixedDelay(1000)));
+        given().get("/api/users?page=0&size=5").then().statusCode(200);
+        double rejectedBefore = rejected("writes");
+
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<Response>> responses = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                String body = "{\"name\":\"Writer " + i + "\",\"email\":\"limited-writer-" + i + "@example.com\"}";
+                responses.add(writers.submit(() -> given().contentType(ContentType.JSON).body(body).post("/api/users")));
+            }
+            TimeUnit.MILLISECONDS.sleep(300);
+
+            long readStart = System.nanoTime();
+            given().get("/api/users?page=0&size=5").then().statusCode(200);
+            long readMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - readStart);
+            assertTrue(readMillis < 500, "read took " + readMillis + " ms behind the writes");
+
+            int created = 0;
+            int shed = 0;
+            for (Future<Response> future : responses) {
+                Response response = future.get(10, TimeUnit.SECONDS);
+                if (response.statusCode() == 201) {
+                    created++;
+                } else {
+                    assertEquals(503, response.statusCode());
+                    assertEquals("2", response.header("Retry-After"));
+                    shed++;
+                }
+            }
+            assertEquals(2, created);
+            assertEquals(WRITERS - 2, shed);
+            assertEquals(WRITERS - 2, rejected("writes") - rejectedBefore);
+        } finally {
+            writers.shutdownNow();
+        }
+        assertEquals(2, meterRegistry.get("users.api.concurrency.limit").tag("limiter", "writes").gauge().value());
+    }
+
+    @Test
+    void getAllUsers_WhenReadsAreAtTheLimit_ShouldStillStreamTheListButShedPagedReads() {
+        AdaptiveConcurrencyLimiter.Permit permit = userReadLimiter.tryAcquire();
+        assertNotNull(permit);
+        try {
+            given().get("/api/users").then().statusCode(200);
+            given().get("/api/users/export").then().statusCode(200);
+            given().get("/api/users?page=0&size=5").then().statusCode(503).header("Retry-After", "2");
+            given().get("/api/users?cursor=0&size=5").then().statusCode(503);
+            given().get("/api/users/search?email=nobody@example.com").then().statusCode(503);
+        } finally {
+            permit.release(true);
+        }
+        given().get("/api/users?page=0&size=5").then().statusCode(200);
+    }
+
+    private double rejected(String limiter) {
+        return meterRegistry.get("users.api.concurrency.rejected").tag("limiter", limiter).counter().count();
+    }
+}
@@ -0,0 +1,156 @@
+package com.junit.wiremock.integration;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.junit.wiremock.entity.UserStatus;
+import com.junit.wiremock.repository.UserRepository;
+import com.junit.wiremock.service.DegradedEmailRevalidator;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        // Its own database, so the revalidators of other cached test contexts cannot settle its pending users.
+        "spring.datasource.url=jdbc:h2:mem:degraded-revalidation",
+        "email.validation.batch.enabled=false",
+        "email.validation.resilience.degraded-policy=accept",
+        "email.validation.resilience.revalidation.interval=1h",
+        "email.validation.resilience.revalidation.batch-size=2"
+})
+public class DegradedEmailRevalidationIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DegradedEmailRevalidator revalidator;
+
+    @Autowired
+    private CircuitBreaker emailValidationCircuitBreaker;
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("email.validation.api.url", wireMock::baseUrl);
+    }
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+        userRepository.deleteAllInBatch();
+        emailValidationCircuitBreaker.reset();
+        wireMock.stubFor(get(urlPathEqualTo("/validate")).willReturn(aResponse().withStatus(503)));
+    }
+
+    @Test
+    void createUser_WhenApiIsDownAndAddressTurnsOutInvalid_ShouldStorePendingThenInvalid() {
+        Long id = createPendingUser("Later", "later.invalid@example.com");
+        given().get("/api/users/" + id).then().statusCode(200).body("status", equalTo("PENDING_VALIDATION"));
+
+        stubVerdict(false);
+        assertEquals(1, revalidator.revalidatePending());
+
+        assertEquals(UserStatus.INVALID_EMAIL, userRepository.findById(id).orElseThrow().getStatus());
+        given().get("/api/users/" + id).then().statusCode(200).body("status", equalTo("INVALID_EMAIL"));
+    }
+
+    @Test
+    void createUser_WhenApiIsDownAndAddressTurnsOutValid_ShouldStorePendingThenActive() {
+        Long id = createPendingUser("Later", "later.valid@example.com");
+
+        stubVerdict(true);
+        assertEquals(1, revalidator.revalidatePending());
+
+        assertEquals(UserStatus.ACTIVE, userRepository.findById(id).orElseThrow().getStatus());
+        assertEquals(0, revalidator.revalidatePending());
+    }
+
+    @Test
+    void createUserAsync_WhenApiIsDown_ShouldStorePendingLikeSyncCreate() {
+        Long id = createPendingUser("/api/users/async", "Later", "later.async@example.com");
+
+        stubVerdict(true);
+        assertEquals(1, revalidator.revalidatePending());
+
+        assertEquals(UserStatus.ACTIVE, userRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    void revalidatePending_WhenApiIsStillDown_ShouldKeepUserPending() {
+        Long id = createPendingUser("Later", "later.down@example.com");
+
+        assertEquals(0, revalidator.revalidatePending());
+
+        assertEquals(UserStatus.PENDING_VALIDATION, userRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    void revalidatePending_WhenSomeUsersKeepFailing_ShouldStillReachTheUsersAfterThem() {
+        Long firstPoisoned = createPendingUser("Poisoned", "poisoned.one@example.com");
+        Long secondPoisoned = createPendingUser("Poisoned", "poisoned.two@example.com");
+        Long healthy = createPendingUser("Healthy", "healthy@example.com");
+        emailValidationCircuitBreaker.reset();
+        stubVerdict(true);
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .withQueryParam("email", matching("poisoned.*"))
+                .willReturn(aResponse().withStatus(422)));
+
+        assertEquals(0, revalidator.revalidatePending());
+        assertEquals(1, revalidator.revalidatePending());
+
+        assertEquals(UserStatus.ACTIVE, userRepository.findById(healthy).orElseThrow().getStatus());
+        assertEquals(UserStatus.PENDING_VALIDATION, userRepository.findById(firstPoisoned).orElseThrow().getStatus());
+        assertEquals(UserStatus.PENDING_VALIDATION, userRepository.findById(secondPoisoned).orElseThrow().getStatus());
+
+        wireMock.resetRequests();
+        assertEquals(0, revalidator.revalidatePending());
+        wireMock.verify(2, getRequestedFor(urlPathEqualTo("/validate")).withQueryParam("email", matching("poisoned.*")));
+    }
+
+    private Long createPendingUser(String name, String email) {
+        return createPendingUser("/api/users", name, email);
+    }
+
+    private Long createPendingUser(String path, String name, String email) {
+        Number id = given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\":\"" + name + "\",\"email\":\"" + email + "\"}")
+                .post(path)
+                .then().statusCode(201)
+                .body("status", equalTo("PENDING_VALIDATION"))
+                .extract().path("id");
+        assertEquals(UserStatus.PENDING_VALIDATION, userRepository.findById(id.longValue()).orElseThrow().getStatus());
+        return id.longValue();
+    }
+
+    private static void stubVerdict(boolean valid) {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":" + valid + ",\"reason\":\"" + (valid ? "Valid email" : "Mailbox does not exist") + "\"}")));
+    }
+}
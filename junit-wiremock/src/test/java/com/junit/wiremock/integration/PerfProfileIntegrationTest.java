@@ -0,0 +1,86 @@
+package com.junit.wiremock.integration;
+
+import com.junit.wiremock.entity.User;
+import com.junit.wiremock.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:file:./target/perf-profile-test/users;AUTO_SERVER=TRUE")
+@ActiveProfiles("perf")
+public class PerfProfileIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void perfProfile_ShouldConfigureFixedPoolWithoutAutoCommit() {
+        HikariDataSource hikari = assertInstanceOf(HikariDataSource.class, dataSource);
+
+        assertEquals("users-db", hikari.getPoolName());
+        assertEquals(20, hikari.getMaximumPoolSize());
+        assertEquals(20, hikari.getMinimumIdle());
+        assertFalse(hikari.isAutoCommit());
+        assertEquals("256", hikari.getDataSourceProperties().getProperty("QUERY_CACHE_SIZE"));
+    }
+
+    @Test
+    void perfProfile_ShouldBatchAndOrderWrites() {
+        SessionFactoryOptions options = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getSessionFactoryOptions();
+
+        assertEquals(50, options.getJdbcBatchSize());
+        assertTrue(options.isOrderInsertsEnabled());
+        assertTrue(options.isOrderUpdatesEnabled());
+        assertFalse(options.isStatisticsEnabled());
+    }
+
+    @Test
+    void saveAll_ShouldCommitWithAutoCommitDisabledAndRecordPoolWaitTime() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            User user = new User();
+            user.setName("Perf User " + i);
+            user.setEmail("perf" + i + "@example.com");
+            users.add(user);
+        }
+
+        userRepository.saveAll(users);
+
+        assertEquals(120, jdbcTemplate.queryForObject("select count(*) from users", Integer.class));
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", "users-db").timer();
+        assertNotNull(acquire);
+        assertTrue(acquire.count() > 0);
+    }
+}
@@ -0,0 +1,55 @@
+package com.junit.wiremock.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("startup")
+public class StartupProfileIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+    }
+
+    @Test
+    void startupProfile_ShouldKeepRequestPathAndScheduledBeansEagerOnly() {
+        assertTrue(beanFactory.containsSingleton("userController"));
+        assertTrue(beanFactory.containsSingleton("userServiceImpl"));
+        assertTrue(beanFactory.containsSingleton("degradedEmailRevalidator"));
+        assertTrue(beanFactory.containsSingleton("emailIndex"));
+        assertTrue(beanFactory.containsSingleton("writeBehindEmailValidator"));
+        assertFalse(beanFactory.containsSingleton("namedParameterJdbcTemplate"));
+    }
+
+    @Test
+    void startupProfile_ShouldStillRegisterCacheAndPoolMetrics() {
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "users").meter());
+        assertNotNull(meterRegistry.find("hikaricp.connections.acquire").timer());
+    }
+
+    @Test
+    void startupProfile_ShouldServeFirstRequest() {
+        given().when().get("/api/users?page=0&size=1").then().statusCode(200);
+    }
+}
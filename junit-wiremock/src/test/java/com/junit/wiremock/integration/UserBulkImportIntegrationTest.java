@@ -0,0 +1,113 @@
+package com.junit.wiremock.integration;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.junit.wiremock.repository.UserRepository;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.nio.charset.StandardCharsets;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.show-sql=false")
+public class UserBulkImportIntegrationTest {
+
+    private static final int THROUGHPUT_USERS = 100_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort().containerThreads(40).disableRequestJournal())
+            .build();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("email.validation.api.url", wireMock::baseUrl);
+    }
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        userRepository.deleteAllInBatch();
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":true,\"reason\":\"Valid email\"}")));
+    }
+
+    @Test
+    void importUsers_WhenJsonArrayHasInvalidAndDuplicateRows_ShouldReportEachRow() {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .withQueryParam("email", com.github.tomakehurst.wiremock.client.WireMock.equalTo("invalid@fake.com"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"email\":\"invalid@fake.com\",\"valid\":false,\"reason\":\"Domain does not exist\"}")));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("[{\"name\":\"John Doe\",\"email\":\"john@example.com\"},"
+                        + "{\"name\":\"Fake\",\"email\":\"invalid@fake.com\"},"
+                        + "{\"name\":\"Jane Smith\",\"email\":\"jane@example.com\"},"
+                        + "{\"name\":\"John Again\",\"email\":\"john@example.com\"}]")
+                .when()
+                .post("/api/users/bulk")
+                .then()
+                .statusCode(200)
+                .body("total", equalTo(4))
+                .body("created", equalTo(2))
+                .body("failed", equalTo(2))
+                .body("rows[0].status", equalTo("CREATED"))
+                .body("rows[0].id", notNullValue())
+                .body("rows[1].status", equalTo("INVALID_EMAIL"))
+                .body("rows[2].status", equalTo("CREATED"))
+                .body("rows[3].index", equalTo(3))
+                .body("rows[3].status", equalTo("FAILED"));
+
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    void importUsers_WhenNdjsonStreamHas100kUsers_ShouldImportAll() {
+        StringBuilder body = new StringBuilder(THROUGHPUT_USERS * 48);
+        for (int i = 0; i < THROUGHPUT_USERS; i++) {
+            body.append("{\"name\":\"User ").append(i).append("\",\"email\":\"user").append(i).append("@example.com\"}\n");
+        }
+
+        long start = System.nanoTime();
+        Response response = given()
+                .contentType("application/x-ndjson")
+                .body(body.toString().getBytes(StandardCharsets.UTF_8))
+                .when()
+                .post("/api/users/bulk");
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        response.then().statusCode(200);
+        assertEquals(THROUGHPUT_USERS, response.jsonPath().getInt("created"));
+        assertEquals(0, response.jsonPath().getInt("failed"));
+        assertEquals(THROUGHPUT_USERS, userRepository.count());
+        assertTrue(seconds < 300, "bulk import took " + seconds + "s");
+    }
+}
@@ -0,0 +1,183 @@
+package com.junit.wiremock.integration;
+
+import com.junit.wiremock.config.CacheConfig;
+import com.junit.wiremock.entity.User;
+import com.junit.wiremock.repository.UserRepository;
+import com.junit.wiremock.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+public class UserCacheIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Cached 0");
+        user.setEmail("cached@example.com");
+        userId = userRepository.save(user).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        cacheManager.getCache(CacheConfig.USERS_CACHE).clear();
+    }
+
+    @Test
+    void getUserById_WhenCalledAgain_ShouldBeServedFromCache() {
+        double hitsBefore = cacheGets("hit");
+
+        assertEquals("Cached 0", userService.getUserById(userId).getName());
+        jdbcTemplate.update("update users set name = 'Changed behind the cache' where id = ?", userId);
+
+        assertEquals("Cached 0", userService.getUserById(userId).getName());
+        assertEquals(hitsBefore + 1, cacheGets("hit"));
+    }
+
+    @Test
+    void updateUser_ShouldReplaceCachedEntry() {
+        userService.getUserById(userId);
+
+        User update = new User();
+        update.setName("Cached 1");
+        update.setEmail("cached@example.com");
+        userService.updateUser(userId, update);
+
+        assertEquals("Cached 1", userService.getUserById(userId).getName());
+        assertEquals("Cached 1", userRepository.findById(userId).orElseThrow().getName());
+    }
+
+    @Test
+    void deleteUser_ShouldEvictCachedEntry() {
+        userService.getUserById(userId);
+
+        userService.deleteUser(userId);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> userService.getUserById(userId));
+        assertTrue(exception.getMessage().contains("User not found"));
+    }
+
+    @Test
+    void getUserById_UnderConcurrentUpdates_ShouldNeverReturnStaleEntries() throws Exception {
+        int updates = 200;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> observed = new ArrayList<>();
+            for (int reader = 0; reader < 4; reader++) {
+                observed.add(readers.submit(() -> {
+                    int lastSeen = 0;
+                    int reads = 0;
+                    while (writing.get()) {
+                        int seen = version(userService.getUserById(userId));
+                        assertTrue(seen >= lastSeen, "read version " + seen + " after " + lastSeen);
+                        lastSeen = seen;
+                        reads++;
+                    }
+                    return reads;
+                }));
+            }
+
+            for (int version = 1; version <= updates; version++) {
+                User update = new User();
+                update.setName("Cached " + version);
+                update.setEmail("cached@example.com");
+                userService.updateUser(userId, update);
+                assertEquals(version, version(userService.getUserById(userId)));
+            }
+            writing.set(false);
+
+            for (Future<Integer> reads : observed) {
+                assertTrue(reads.get() > 0);
+            }
+        } finally {
+            writing.set(false);
+            readers.shutdownNow();
+        }
+        assertEquals(updates, version(userService.getUserById(userId)));
+    }
+
+    @Test
+    void getUserById_AfterConcurrentWriters_ShouldMatchTheRow() throws Exception {
+        int writers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            for (int round = 0; round < 20; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> done = new ArrayList<>();
+                for (int writer = 0; writer < writers; writer++) {
+                    int name = round * writers + writer + 1;
+                    done.add(pool.submit(() -> {
+                        start.await();
+                        User update = new User();
+                        update.setName("Cached " + name);
+                        update.setEmail("cached@example.com");
+                        try {
+                            userService.updateUser(userId, update);
+                        } catch (OptimisticLockingFailureException e) {
+                            // Lost the race at commit; the row keeps the winner's update.
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> writer : done) {
+                    writer.get();
+                }
+
+                User row = userRepository.findById(userId).orElseThrow();
+                User cached = userService.getUserById(userId);
+                assertEquals(row.getVersion(), cached.getVersion(), "round " + round);
+                assertEquals(row.getName(), cached.getName(), "round " + round);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CacheConfig.USERS_CACHE)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private static int version(User user) {
+        return Integer.parseInt(user.getName().substring("Cached ".length()));
+    }
+}
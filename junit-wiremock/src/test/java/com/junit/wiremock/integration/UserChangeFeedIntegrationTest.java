@@ -0,0 +1,282 @@
+package com.junit.wiremock.integration;
+
+import com.junit.wiremock.entity.User;
+import com.junit.wiremock.repository.UserChangeSequence;
+import com.junit.wiremock.repository.UserRepository;
+import com.junit.wiremock.service.UserChangeFeed;
+import com.junit.wiremock.service.UserService;
+import io.restassured.RestAssured;
+import io.restassured.path.json.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "email.validation.local.trusted-domains=example.com"
+})
+public class UserChangeFeedIntegrationTest {
+
+    private static final int WRITERS = 4;
+    private static final int OPERATIONS_PER_WRITER = 60;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserChangeSequence userChangeSequence;
+
+    @Autowired
+    private UserChangeFeed userChangeFeed;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /** Local copy kept in sync from the feed only, as a downstream system would: id to "name@version". */
+    private final Map<Long, String> replica = new HashMap<>();
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+        userRepository.findAll().forEach(user -> userService.deleteUser(user.getId()));
+        sync(50);
+        replica.clear();
+    }
+
+    @Test
+    void getChanges_WhenWritesInterleaveWithReads_ShouldReturnOnlyWhatChangedSinceTheToken() {
+        User alice = userService.createUser(user("Alice", "alice.feed@example.com"));
+        User bob = userService.createUser(user("Bob", "bob.feed@example.com"));
+        userService.importUsers(List.of(user("Carol", "carol.feed@example.com"), user("Dave", "dave.feed@example.com")).iterator());
+
+        assertEquals(4, sync(3));
+        assertReplicaMatchesTable();
+
+        userService.updateUser(alice.getId(), user("Alice Updated", "alice.feed@example.com"));
+        userService.deleteUser(bob.getId());
+        User erin = userService.createUser(user("Erin", "erin.feed@example.com"));
+        userService.deleteUser(erin.getId());
+
+        JsonPath page = changes(token, 10);
+        assertEquals(3, page.getList("content").size());
+        assertEquals(alice.getId(), page.getLong("content[0].id"));
+        assertEquals("Alice Updated", page.getString("content[0].user.name"));
+        assertEquals(bob.getId(), page.getLong("content[1].id"));
+        assertTrue(page.getBoolean("content[1].deleted"));
+        assertNull(page.get("content[1].user"));
+        assertEquals(erin.getId(), page.getLong("content[2].id"));
+        assertTrue(page.getBoolean("content[2].deleted"));
+        apply(page);
+        assertReplicaMatchesTable();
+
+        JsonPath caughtUp = changes(token, 10);
+        assertEquals(List.of(), caughtUp.getList("content"));
+        assertFalse(caughtUp.getBoolean("hasMore"));
+        assertEquals(token, caughtUp.getString("next"));
+    }
+
+    @Test
+    void getChanges_WhenPolledWhileWritersRun_ShouldNotMissAnyChange() throws Exception {
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        List<Future<?>> done = new ArrayList<>();
+        try {
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                done.add(writers.submit(() -> write(writer)));
+            }
+            while (!done.stream().allMatch(Future::isDone)) {
+                sync(7);
+            }
+            for (Future<?> future : done) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+        sync(7);
+
+        assertReplicaMatchesTable();
+    }
+
+    @Test
+    void forCurrentTransaction_ShouldTakeOneNumberPerTransactionAndSkipRolledBackOnes() {
+        long before = userChangeSequence.lastCommitted();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            long changeSeq = userChangeSequence.forCurrentTransaction();
+            assertEquals(before + 1, changeSeq);
+            assertEquals(changeSeq, userChangeSequence.forCurrentTransaction());
+            assertEquals(before, userChangeSequence.lastCommitted());
+            status.setRollbackOnly();
+        });
+        assertEquals(before + 1, userChangeSequence.lastCommitted());
+
+        transaction.executeWithoutResult(status -> assertEquals(before + 2, userChangeSequence.forCurrentTransaction()));
+        assertEquals(before + 2, userChangeSequence.lastCommitted());
+        assertThrows(IllegalStateException.class, userChangeSequence::forCurrentTransaction);
+    }
+
+    @Test
+    void lastCommitted_WhileAnEarlierNumberIsInUse_ShouldStayBelowIt() throws Exception {
+        long before = userChangeSequence.lastCommitted();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch taken = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService slowWriter = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slow = slowWriter.submit(() -> transaction.executeWithoutResult(status -> {
+                userChangeSequence.forCurrentTransaction();
+                taken.countDown();
+                await(release);
+            }));
+            assertTrue(taken.await(5, TimeUnit.SECONDS));
+
+            User created = userService.createUser(user("Late", "late.feed@example.com"));
+            assertEquals(before + 2, created.getChangeSeq());
+            assertEquals(before, userChangeSequence.lastCommitted());
+            assertEquals(List.of(), changes(token, 10).getList("content"));
+
+            release.countDown();
+            slow.get(5, TimeUnit.SECONDS);
+            assertEquals(before + 2, userChangeSequence.lastCommitted());
+            assertEquals(1, sync(10));
+        } finally {
+            release.countDown();
+            slowWriter.shutdownNow();
+        }
+    }
+
+    @Test
+    void getChanges_WhenTokenIsOlderThanThePrunedTombstones_ShouldRejectIt() {
+        User alice = userService.createUser(user("Alice", "alice.pruned@example.com"));
+        sync(10);
+        String beforeDelete = token;
+        userService.deleteUser(alice.getId());
+        sync(10);
+
+        assertTrue(userChangeFeed.pruneTombstones(Instant.now().plusSeconds(1)) >= 1);
+
+        given().get("/api/users/changes?since=" + beforeDelete).then().statusCode(410);
+        assertEquals(List.of(), changes(token, 10).getList("content"));
+        String resynced = changes(null, 10).getString("next");
+        assertEquals(List.of(), changes(resynced, 10).getList("content"));
+        assertEquals(0, userChangeFeed.pruneTombstones(Instant.now().plusSeconds(1)));
+    }
+
+    @Test
+    void getChanges_WhenTokenIsMalformedOrAhead_ShouldReject() {
+        given().get("/api/users/changes?since=not-a-token").then().statusCode(400);
+
+        String ahead = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((Long.MAX_VALUE + ":0").getBytes(StandardCharsets.UTF_8));
+        given().get("/api/users/changes?since=" + ahead).then().statusCode(410);
+    }
+
+    /** Creates, updates and deletes this writer's own users in random order. */
+    private void write(int writer) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Long> live = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS_PER_WRITER; i++) {
+            int operation = live.isEmpty() ? 0 : random.nextInt(10);
+            if (operation < 5) {
+                User created = userService.createUser(user("Writer " + writer, "writer" + writer + "." + i + "@example.com"));
+                live.add(created.getId());
+            } else if (operation < 8) {
+                Long id = live.get(random.nextInt(live.size()));
+                User current = userService.getUserById(id);
+                userService.updateUser(id, user("Writer " + writer + " update " + i, current.getEmail()));
+            } else {
+                userService.deleteUser(live.remove(random.nextInt(live.size())));
+            }
+        }
+    }
+
+    /** Reads the feed from the current token until caught up; returns the number of changes read. */
+    private int sync(int size) {
+        int read = 0;
+        JsonPath page;
+        do {
+            page = changes(token, size);
+            read += apply(page);
+        } while (page.getBoolean("hasMore"));
+        return read;
+    }
+
+    private JsonPath changes(String since, int size) {
+        return given()
+                .queryParam("size", size)
+                .queryParams(since == null ? Map.of() : Map.of("since", since))
+                .get("/api/users/changes")
+                .then().statusCode(200)
+                .extract().jsonPath();
+    }
+
+    private int apply(JsonPath page) {
+        List<Map<String, Object>> changes = page.getList("content");
+        for (Map<String, Object> change : changes) {
+            long id = ((Number) change.get("id")).longValue();
+            if ((Boolean) change.get("deleted")) {
+                replica.remove(id);
+            } else {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> user = (Map<String, Object>) change.get("user");
+                replica.put(id, user.get("name") + "@" + user.get("version"));
+            }
+        }
+        token = page.getString("next");
+        return changes.size();
+    }
+
+    private void assertReplicaMatchesTable() {
+        Map<Long, String> table = userRepository.findAll().stream()
+                .collect(Collectors.toMap(User::getId, user -> user.getName() + "@" + user.getVersion()));
+        assertEquals(table, replica);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static User user(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -0,0 +1,217 @@
+package com.junit.wiremock.integration;
+
+import com.junit.wiremock.entity.User;
+import com.junit.wiremock.repository.UserRepository;
+import com.junit.wiremock.service.UserService;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.show-sql=false")
+public class UserConditionalGetIntegrationTest {
+
+    private static final int SEEDED_USERS = 2_000;
+    private static final int POLLS = 100;
+    private static final long SEED_OFFSET = 1_000_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+        jdbcTemplate.update("insert into users (id, name, email) "
+                + "select x, 'User ' || x, 'user' || x || '@seed.test' from system_range(?, ?)",
+                SEED_OFFSET + 1, SEED_OFFSET + SEEDED_USERS);
+        User user = new User();
+        user.setName("Polled User");
+        user.setEmail("polled@example.com");
+        userId = userRepository.save(user).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void getUserById_WhenETagMatches_ShouldReturn304WithoutBody() {
+        Response first = given().when().get("/api/users/" + userId);
+        first.then()
+                .statusCode(200)
+                .header("ETag", equalTo("\"0\""))
+                .header("Last-Modified", notNullValue());
+
+        given()
+                .header("If-None-Match", first.header("ETag"))
+                .when()
+                .get("/api/users/" + userId)
+                .then()
+                .statusCode(304)
+                .header("ETag", equalTo("\"0\""));
+
+        given()
+                .header("If-Modified-Since", first.header("Last-Modified"))
+                .when()
+                .get("/api/users/" + userId)
+                .then()
+                .statusCode(304);
+    }
+
+    @Test
+    void getUserById_AfterUpdate_ShouldReturnNewRepresentationAndETag() {
+        String etag = given().when().get("/api/users/" + userId).header("ETag");
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\":\"Renamed User\",\"email\":\"polled@example.com\"}")
+                .when()
+                .put("/api/users/" + userId)
+                .then()
+                .statusCode(200);
+
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/api/users/" + userId)
+                .then()
+                .statusCode(200)
+                .header("ETag", equalTo("\"1\""))
+                .body("name", equalTo("Renamed User"));
+    }
+
+    @Test
+    void getUserById_AfterConcurrentUpdates_ShouldNotAnswerAnOlderETagWith304() throws Exception {
+        ExecutorService writers = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < 50; round++) {
+                String before = given().when().get("/api/users/" + userId).then().statusCode(200).extract().header("ETag");
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Integer>> updates = new ArrayList<>();
+                for (int writer = 0; writer < 8; writer++) {
+                    String body = "{\"name\":\"Writer " + round + "-" + writer + "\",\"email\":\"polled@example.com\"}";
+                    updates.add(writers.submit(() -> {
+                        start.await();
+                        return given().contentType(ContentType.JSON).body(body).when().put("/api/users/" + userId).statusCode();
+                    }));
+                }
+                start.countDown();
+                for (Future<Integer> update : updates) {
+                    update.get();
+                }
+
+                String current = "\"" + userRepository.findById(userId).orElseThrow().getVersion() + "\"";
+                given()
+                        .header("If-None-Match", before)
+                        .when()
+                        .get("/api/users/" + userId)
+                        .then()
+                        .statusCode(200)
+                        .header("ETag", equalTo(current));
+                given().header("If-None-Match", current).when().get("/api/users/" + userId).then().statusCode(304);
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+    }
+
+    @Test
+    void getAllUsers_WhenPolledWithETag_ShouldSaveBandwidthAndTime() {
+        Response first = given().when().get("/api/users");
+        first.then().statusCode(200);
+        String etag = first.header("ETag");
+        assertNotNull(etag);
+
+        // Warm both paths before measuring them.
+        poll(etag, 10);
+        poll(null, 10);
+
+        long conditionalStart = System.nanoTime();
+        long conditionalBytes = poll(etag, POLLS);
+        long conditionalNanos = System.nanoTime() - conditionalStart;
+
+        long unconditionalStart = System.nanoTime();
+        long unconditionalBytes = poll(null, POLLS);
+        long unconditionalNanos = System.nanoTime() - unconditionalStart;
+
+        assertEquals(0, conditionalBytes);
+        assertEquals((long) POLLS * first.asByteArray().length, unconditionalBytes);
+        assertTrue(conditionalNanos * 2 < unconditionalNanos,
+                "conditional polling took " + conditionalNanos / 1_000_000 + "ms, unconditional "
+                        + unconditionalNanos / 1_000_000 + "ms");
+    }
+
+    @Test
+    void getAllUsers_AfterCreateUpdateOrDelete_ShouldChangeETag() {
+        String initial = given().when().get("/api/users").header("ETag");
+
+        User created = new User();
+        created.setName("Created User");
+        created.setEmail("created@example.com");
+        userRepository.save(created);
+        String afterCreate = given().header("If-None-Match", initial).when().get("/api/users")
+                .then().statusCode(200).extract().header("ETag");
+
+        User update = new User();
+        update.setName("Changed");
+        update.setEmail("user" + (SEED_OFFSET + 1) + "@seed.test");
+        userService.updateUser(SEED_OFFSET + 1, update);
+        String afterUpdate = given().header("If-None-Match", afterCreate).when().get("/api/users")
+                .then().statusCode(200).extract().header("ETag");
+
+        userService.deleteUser(SEED_OFFSET + 2);
+        String afterDelete = given().header("If-None-Match", afterUpdate).when().get("/api/users")
+                .then().statusCode(200).extract().header("ETag");
+
+        assertNotEquals(initial, afterCreate);
+        assertNotEquals(afterCreate, afterUpdate);
+        assertNotEquals(afterUpdate, afterDelete);
+        given().header("If-None-Match", afterDelete).when().get("/api/users").then().statusCode(304);
+    }
+
+    private long poll(String etag, int times) {
+        long bytes = 0;
+        for (int i = 0; i < times; i++) {
+            var request = given();
+            if (etag != null) {
+                request.header("If-None-Match", etag);
+            }
+            Response response = request.when().get("/api/users");
+            response.then().statusCode(etag != null ? 304 : 200);
+            bytes += response.asByteArray().length;
+        }
+        return bytes;
+    }
+}
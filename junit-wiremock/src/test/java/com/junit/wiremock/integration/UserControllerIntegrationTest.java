@@ -1,21 +1,36 @@
 package com.junit.wiremock.integration;
 
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.junit.wiremock.client.EmailPreValidator;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.module.blackbird.BlackbirdModule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 public class UserControllerIntegrationTest {
@@ -23,6 +38,15 @@ public class UserControllerIntegrationTest {
     @LocalServerPort
     private int port;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmailPreValidator emailPreValidator;
+
     @RegisterExtension
     static WireMockExtension wireMock = WireMockExtension.newInstance()
             .options(wireMockConfig().dynamicPort())
@@ -38,6 +62,7 @@ public class UserControllerIntegrationTest {
         RestAssured.port = port;
         RestAssured.baseURI = "http://localhost";
         RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+        emailPreValidator.forgetRejectedDomains();
     }
 
     @Test
@@ -64,6 +89,45 @@ public class UserControllerIntegrationTest {
                 .withQueryParam("email", com.github.tomakehurst.wiremock.client.WireMock.equalTo("john@example.com")));
     }
 
+    @Test
+    void createUserAsync_WhenEmailIsValid_ShouldReturn201() {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .withQueryParam("email", com.github.tomakehurst.wiremock.client.WireMock.equalTo("async@example.com"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"email\":\"async@example.com\",\"valid\":true,\"reason\":\"Valid email\"}")
+                        .withFixedDelay(200)));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\":\"Async User\",\"email\":\"async@example.com\"}")
+                .when()
+                .post("/api/users/async")
+                .then()
+                .statusCode(201)
+                .body("email", equalTo("async@example.com"))
+                .body("id", notNullValue());
+    }
+
+    @Test
+    void createUserAsync_WhenEmailIsInvalid_ShouldReturn500() {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .withQueryParam("email", com.github.tomakehurst.wiremock.client.WireMock.equalTo("invalid-async@fake.com"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"email\":\"invalid-async@fake.com\",\"valid\":false,\"reason\":\"Domain does not exist\"}")));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\":\"Async User\",\"email\":\"invalid-async@fake.com\"}")
+                .when()
+                .post("/api/users/async")
+                .then()
+                .statusCode(500);
+    }
+
     @Test
     void createUser_WhenEmailIsInvalid_ShouldReturn500() {
         wireMock.stubFor(get(urlPathEqualTo("/validate"))
@@ -86,7 +150,7 @@ public class UserControllerIntegrationTest {
     }
 
     @Test
-    void createUser_WhenValidationApiIsDown_ShouldReturn500() {
+    void createUser_WhenValidationApiIsDown_ShouldReturn503() {
         wireMock.stubFor(get(urlPathEqualTo("/validate"))
                 .willReturn(aResponse().withStatus(500)));
 
@@ -96,6 +160,110 @@ public class UserControllerIntegrationTest {
                 .when()
                 .post("/api/users")
                 .then()
-                .statusCode(500);
+                .statusCode(503);
+    }
+
+    @Test
+    void getAllUsers_ShouldStreamUsersInTheSameShapeAsSingleUserReads() {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":true,\"reason\":\"Valid email\"}")));
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\":\"Listed User\",\"email\":\"listed@example.com\"}")
+                .when()
+                .post("/api/users")
+                .then()
+                .statusCode(201)
+                .extract().path("id");
+        Map<String, Object> single = given().when().get("/api/users/" + id).then().statusCode(200).extract().jsonPath().getMap("");
+
+        List<Map<String, Object>> listed = given()
+                .when()
+                .get("/api/users")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .extract().jsonPath().getList("");
+
+        assertEquals(single, listed.stream().filter(user -> id.equals(user.get("id"))).findFirst().orElseThrow());
+        assertTrue(objectMapper.registeredModules().stream().anyMatch(BlackbirdModule.class::isInstance));
+    }
+
+    @Test
+    void createUser_ShouldRecordLatencyMetricsForEachLayer() {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .withQueryParam("email", com.github.tomakehurst.wiremock.client.WireMock.equalTo("metrics@example.com"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"email\":\"metrics@example.com\",\"valid\":true,\"reason\":\"Valid email\"}")));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\":\"Metrics User\",\"email\":\"metrics@example.com\"}")
+                .when()
+                .post("/api/users")
+                .then()
+                .statusCode(201);
+
+        assertTrue(meterRegistry.get("http.server.requests")
+                .tag("uri", "/api/users").tag("method", "POST").tag("status", "201").timer().count() >= 1);
+        assertTrue(meterRegistry.get("user.service").tag("method", "createUser").timer().count() >= 1);
+        assertTrue(meterRegistry.get("spring.data.repository.invocations")
+                .tag("repository", "UserRepository").tag("method", "save").timer().count() >= 1);
+        assertTrue(meterRegistry.get("email.validation.requests").tag("outcome", "valid").timer().count() >= 1);
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", "email.validation").functionCounters().size() >= 1);
+        assertTrue(meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value() > 0);
+
+        given()
+                .when()
+                .get("/actuator/metrics/email.validation.requests")
+                .then()
+                .statusCode(200)
+                .body("availableTags.tag", hasItem("outcome"));
+    }
+
+    @Test
+    void updateUser_WhenUpdatesRace_ShouldAnswerTheLosersWith409() throws Exception {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":true,\"reason\":\"Valid email\"}")));
+        Integer id = given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\":\"Raced User\",\"email\":\"raced@example.com\"}")
+                .when()
+                .post("/api/users")
+                .then()
+                .statusCode(201)
+                .extract().path("id");
+
+        List<Integer> statuses = new ArrayList<>();
+        try (ExecutorService writers = Executors.newFixedThreadPool(8)) {
+            for (int round = 0; round < 10; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Integer>> updates = new ArrayList<>();
+                for (int writer = 0; writer < 8; writer++) {
+                    String body = "{\"name\":\"Writer " + round + "-" + writer + "\",\"email\":\"raced@example.com\"}";
+                    updates.add(writers.submit(() -> {
+                        start.await();
+                        return given().contentType(ContentType.JSON).body(body).when().put("/api/users/" + id).statusCode();
+                    }));
+                }
+                start.countDown();
+                for (Future<Integer> update : updates) {
+                    statuses.add(update.get());
+                }
+            }
+        }
+
+        assertTrue(statuses.stream().allMatch(status -> status == 200 || status == 409), statuses.toString());
+        assertTrue(statuses.contains(409), "no update lost the race");
+        long applied = statuses.stream().filter(status -> status == 200).count();
+        given().when().get("/api/users/" + id).then().statusCode(200).body("version", equalTo((int) applied));
     }
-}
\ No newline at end of file
+}
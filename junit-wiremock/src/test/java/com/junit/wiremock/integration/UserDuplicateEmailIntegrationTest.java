@@ -0,0 +1,136 @@
+package com.junit.wiremock.integration;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.junit.wiremock.repository.UserRepository;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.show-sql=false")
+public class UserDuplicateEmailIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("email.validation.api.url", wireMock::baseUrl);
+    }
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+        userRepository.deleteAllInBatch();
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":true,\"reason\":\"Valid email\"}")));
+    }
+
+    @Test
+    void createUser_WhenEmailAlreadyExists_ShouldReturn409WithoutCallingValidation() {
+        createUser("John Doe", "john@example.com").then().statusCode(201);
+        wireMock.resetRequests();
+
+        createUser("John Again", "john@example.com")
+                .then()
+                .statusCode(409);
+
+        wireMock.verify(0, getRequestedFor(urlPathEqualTo("/validate")));
+    }
+
+    @Test
+    void createUserAsync_WhenEmailAlreadyExists_ShouldReturn409WithoutCallingValidation() {
+        createUser("John Doe", "john.async@example.com").then().statusCode(201);
+        wireMock.resetRequests();
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\":\"John Again\",\"email\":\"john.async@example.com\"}")
+                .when()
+                .post("/api/users/async")
+                .then()
+                .statusCode(409);
+
+        wireMock.verify(0, getRequestedFor(urlPathEqualTo("/validate")));
+    }
+
+    @Test
+    void createUser_AfterDeletingTheOwner_ShouldAcceptTheEmailAgain() {
+        Integer id = createUser("John Doe", "reused@example.com").then().statusCode(201).extract().path("id");
+
+        given().when().delete("/api/users/" + id).then().statusCode(204);
+
+        createUser("John Again", "reused@example.com").then().statusCode(201);
+    }
+
+    @Test
+    void updateUser_WhenEmailBelongsToAnotherUser_ShouldReturn409() {
+        createUser("John Doe", "john.doe@example.com").then().statusCode(201);
+        Integer janeId = createUser("Jane Doe", "jane.doe@example.com").then().statusCode(201).extract().path("id");
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\":\"Jane Doe\",\"email\":\"john.doe@example.com\"}")
+                .when()
+                .put("/api/users/" + janeId)
+                .then()
+                .statusCode(409);
+    }
+
+    @Test
+    void importUsers_WhenEmailAlreadyExists_ShouldReportDuplicateWithoutCallingValidation() {
+        createUser("John Doe", "bulk.john@example.com").then().statusCode(201);
+        wireMock.resetRequests();
+
+        given()
+                .contentType(ContentType.JSON)
+                .body("[{\"name\":\"John Again\",\"email\":\"bulk.john@example.com\"},"
+                        + "{\"name\":\"Jane Smith\",\"email\":\"bulk.jane@example.com\"}]")
+                .when()
+                .post("/api/users/bulk")
+                .then()
+                .statusCode(200)
+                .body("created", equalTo(1))
+                .body("rows[0].status", equalTo("DUPLICATE_EMAIL"))
+                .body("rows[0].error", containsString("already exists"))
+                .body("rows[1].status", equalTo("CREATED"));
+
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/validate")));
+        wireMock.verify(0, getRequestedFor(urlPathEqualTo("/validate"))
+                .withQueryParam("email", com.github.tomakehurst.wiremock.client.WireMock.equalTo("bulk.john@example.com")));
+    }
+
+    private io.restassured.response.Response createUser(String name, String email) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\":\"" + name + "\",\"email\":\"" + email + "\"}")
+                .when()
+                .post("/api/users");
+    }
+}
@@ -0,0 +1,97 @@
+package com.junit.wiremock.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs in its own surefire execution with a small heap (see the small-heap execution in pom.xml),
+ * so materialising the seeded table would fail with an OutOfMemoryError.
+ */
+@Tag("small-heap")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:file:./target/h2/export-test;LAZY_QUERY_EXECUTION=TRUE",
+                "spring.jpa.show-sql=false"
+        })
+public class UserExportIntegrationTest {
+
+    private static final int SEEDED_USERS = 400_000;
+    private static final long MAX_HEAP_GROWTH = 32 * 1024 * 1024;
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into users (id, name, email) "
+                + "select x, 'User ' || x, 'user' || x || '@seed.test' from system_range(1, ?)", SEEDED_USERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void exportUsers_ShouldStreamWholeTableWithFlatHeap() throws Exception {
+        long baseline = usedHeapAfterGc();
+        long peak = baseline;
+        long lines = 0;
+        long previousId = 0;
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/export")).build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("application/x-ndjson"));
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = ID.matcher(line);
+                assertTrue(matcher.find(), line);
+                long id = Long.parseLong(matcher.group(1));
+                assertTrue(id > previousId, "rows must be exported in id order");
+                previousId = id;
+                if (++lines % 50_000 == 0) {
+                    peak = Math.max(peak, usedHeapAfterGc());
+                }
+            }
+        }
+
+        assertEquals(SEEDED_USERS, lines);
+        assertTrue(peak - baseline < MAX_HEAP_GROWTH,
+                "heap grew by " + (peak - baseline) / (1024 * 1024) + "MB during export");
+    }
+
+    private long usedHeapAfterGc() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
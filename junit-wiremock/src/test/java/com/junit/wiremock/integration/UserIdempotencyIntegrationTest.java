@@ -0,0 +1,134 @@
+package com.junit.wiremock.integration;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.junit.wiremock.cache.IdempotencyStore;
+import com.junit.wiremock.repository.UserRepository;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.junit.wiremock.integration.SqlStatementCounter"
+})
+public class UserIdempotencyIntegrationTest {
+
+    private static final int RETRIES = 5;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("email.validation.api.url", wireMock::baseUrl);
+    }
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+        userRepository.deleteAllInBatch();
+        idempotencyStore.invalidateAll();
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":true,\"reason\":\"Valid email\"}")
+                        .withFixedDelay(500)));
+    }
+
+    @Test
+    void createUser_WhenRetriedConcurrentlyWithTheSameKey_ShouldCreateOnceAndAnswerAllWithIt() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(RETRIES);
+        List<Future<Response>> responses = new ArrayList<>();
+        try {
+            for (int i = 0; i < RETRIES; i++) {
+                responses.add(clients.submit(() -> {
+                    start.await();
+                    return createUser("retry-1", "John Doe", "john.retry@example.com");
+                }));
+            }
+            start.countDown();
+
+            Integer id = null;
+            for (Future<Response> future : responses) {
+                Response response = future.get(10, TimeUnit.SECONDS);
+                assertEquals(201, response.statusCode(), response.asString());
+                Integer responseId = response.path("id");
+                assertEquals(id == null ? responseId : id, responseId);
+                id = responseId;
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/validate")));
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void createUser_WhenRetriedLaterWithTheSameKey_ShouldReplayWithoutNetworkOrDatabaseWork() {
+        Integer id = createUser("retry-2", "Jane Doe", "jane.retry@example.com").then().statusCode(201)
+                .extract().path("id");
+        wireMock.resetRequests();
+        SqlStatementCounter.reset();
+
+        Response retry = createUser("retry-2", "Jane Doe", "jane.retry@example.com");
+
+        assertEquals(201, retry.statusCode());
+        assertEquals(id, retry.<Integer>path("id"));
+        wireMock.verify(0, getRequestedFor(urlPathEqualTo("/validate")));
+        assertEquals(List.of(), SqlStatementCounter.statements());
+    }
+
+    @Test
+    void createUser_WhenKeyIsReusedForAnotherUser_ShouldReturn422() {
+        createUser("retry-3", "Jane Doe", "jane.other@example.com").then().statusCode(201);
+
+        createUser("retry-3", "Someone Else", "someone@example.com").then().statusCode(422);
+
+        assertEquals(1, userRepository.count());
+    }
+
+    private static Response createUser(String key, String name, String email) {
+        return given()
+                .contentType(ContentType.JSON)
+                .header("Idempotency-Key", key)
+                .body("{\"name\":\"" + name + "\",\"email\":\"" + email + "\"}")
+                .when()
+                .post("/api/users");
+    }
+}
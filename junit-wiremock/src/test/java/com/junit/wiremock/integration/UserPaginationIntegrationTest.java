@@ -0,0 +1,178 @@
+package com.junit.wiremock.integration;
+
+import com.junit.wiremock.dto.UserPage;
+import com.junit.wiremock.entity.User;
+import com.junit.wiremock.service.UserService;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.junit.wiremock.integration.SqlStatementCounter"
+        })
+public class UserPaginationIntegrationTest {
+
+    private static final int SEEDED_USERS = 50_000;
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+        jdbcTemplate.update("insert into users (id, name, email) "
+                + "select x, 'User ' || x, 'user' || x || '@seed.test' from system_range(1, ?)", SEEDED_USERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void getUsers_WithCursor_ShouldReturnStableNextCursor() {
+        String next = given()
+                .queryParam("cursor", "")
+                .queryParam("size", 10)
+                .when()
+                .get("/api/users")
+                .then()
+                .statusCode(200)
+                .body("content", hasSize(10))
+                .body("content[0].id", equalTo(1))
+                .body("size", equalTo(10))
+                .body("next", notNullValue())
+                .extract().path("next");
+
+        given()
+                .queryParam("cursor", next)
+                .queryParam("size", 10)
+                .when()
+                .get("/api/users")
+                .then()
+                .statusCode(200)
+                .body("content[0].id", equalTo(11))
+                .body("next", equalTo(given().queryParam("cursor", next).queryParam("size", 10)
+                        .get("/api/users").path("next")));
+    }
+
+    @Test
+    void getUsers_WithCursor_ShouldWalkWholeTableWithoutDuplicates() {
+        Set<Long> seen = new HashSet<>();
+        String cursor = "";
+        int pages = 0;
+        while (cursor != null) {
+            UserPage page = userService.getUsersAfter(cursor, 100);
+            for (User user : page.getContent()) {
+                assertTrue(seen.add(user.getId()), "duplicate id " + user.getId());
+            }
+            cursor = page.getNext();
+            pages++;
+        }
+
+        assertEquals(SEEDED_USERS, seen.size());
+        assertEquals(SEEDED_USERS / 100, pages);
+    }
+
+    @Test
+    void getUsers_WithPage_ShouldClampToMaxPageSize() {
+        given()
+                .queryParam("page", 2)
+                .queryParam("size", 10_000)
+                .when()
+                .get("/api/users")
+                .then()
+                .statusCode(200)
+                .body("size", equalTo(100))
+                .body("content", hasSize(100))
+                .body("content[0].id", equalTo(201))
+                .body("next", equalTo("3"));
+    }
+
+    @Test
+    void getUsers_WithLastCursor_ShouldReturnNoNextCursor() {
+        UserPage lastPage = userService.getUsersAfter(cursorFor(SEEDED_USERS - 5), 10);
+
+        assertEquals(5, lastPage.getContent().size());
+        assertNull(lastPage.getNext());
+        given()
+                .queryParam("cursor", cursorFor(SEEDED_USERS))
+                .when()
+                .get("/api/users")
+                .then()
+                .statusCode(200)
+                .body("content", hasSize(0))
+                .body("next", nullValue());
+    }
+
+    @Test
+    void getUsers_WithMalformedCursor_ShouldReturn400() {
+        given()
+                .queryParam("cursor", "not-a-cursor!")
+                .when()
+                .get("/api/users")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void keysetQuery_DeepPage_ShouldScanSameRowsAsFirstPage() {
+        int size = 20;
+        long deepId = SEEDED_USERS - 100;
+        SqlStatementCounter.reset();
+        userService.getUsersAfter(cursorFor(0), size);
+        userService.getUsersAfter(cursorFor(deepId), size);
+        userService.getUsers((int) (deepId / size), size);
+        List<String> statements = SqlStatementCounter.statements();
+        assertEquals(3, statements.size(), statements.toString());
+
+        long firstPageScans = scanCount(statements.get(0), 0, size + 1);
+        long deepPageScans = scanCount(statements.get(1), deepId, size + 1);
+        long deepOffsetScans = scanCount(statements.get(2), deepId, size + 1);
+
+        assertTrue(Math.abs(firstPageScans - deepPageScans) <= 1,
+                "first page scanned " + firstPageScans + " rows, deep page " + deepPageScans);
+        assertTrue(deepPageScans <= size + 2, "keyset page scanned " + deepPageScans + " rows");
+        assertTrue(deepOffsetScans > SEEDED_USERS / 2, "offset page scanned " + deepOffsetScans + " rows");
+    }
+
+    /** Explains the statement Hibernate generated, with the values it was executed with. */
+    private long scanCount(String sql, Object... args) {
+        String plan = jdbcTemplate.queryForObject("explain analyze " + sql, String.class, args);
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        assertTrue(matcher.find(), plan);
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static String cursorFor(long id) {
+        return java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes());
+    }
+}
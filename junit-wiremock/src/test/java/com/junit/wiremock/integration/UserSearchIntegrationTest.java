@@ -0,0 +1,168 @@
+package com.junit.wiremock.integration;
+
+import com.junit.wiremock.dto.UserSearchPage;
+import com.junit.wiremock.service.UserService;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.junit.wiremock.integration.SqlStatementCounter"
+        })
+public class UserSearchIntegrationTest {
+
+    private static final int SEEDED_USERS = 50_000;
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)", Pattern.CASE_INSENSITIVE);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+        jdbcTemplate.update("insert into users (id, name, email) "
+                + "select x, 'User ' || x, 'User' || x || '@Seed.test' from system_range(1, ?)", SEEDED_USERS);
+        jdbcTemplate.update("insert into users (id, name, email) values (?, ?, ?)",
+                SEEDED_USERS + 1, "Ana_Maria", "ana.maria@example.com");
+        jdbcTemplate.update("insert into users (id, name, email) values (?, ?, ?)",
+                SEEDED_USERS + 2, "Anabel", "anabel@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void findUserByEmail_ShouldMatchIgnoringCase() {
+        given()
+                .queryParam("email", "USER42@seed.TEST")
+                .when()
+                .get("/api/users/search")
+                .then()
+                .statusCode(200)
+                .body("id", equalTo(42))
+                .body("email", equalTo("User42@Seed.test"));
+    }
+
+    @Test
+    void findUserByEmail_WhenAddressesDifferOnlyInCase_ShouldReturnTheOldestUser() {
+        jdbcTemplate.update("insert into users (id, name, email) values (?, ?, ?)",
+                SEEDED_USERS + 3, "Upper User", "USER42@SEED.TEST");
+
+        given()
+                .queryParam("email", "user42@seed.test")
+                .when()
+                .get("/api/users/search")
+                .then()
+                .statusCode(200)
+                .body("id", equalTo(42));
+    }
+
+    @Test
+    void findUserByEmail_WhenMissing_ShouldReturn404() {
+        given()
+                .queryParam("email", "nobody@seed.test")
+                .when()
+                .get("/api/users/search")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    void searchByNamePrefix_ShouldPageInNameOrder() {
+        given()
+                .queryParam("namePrefix", "user 1234")
+                .queryParam("size", 5)
+                .when()
+                .get("/api/users/search")
+                .then()
+                .statusCode(200)
+                .body("content", hasSize(5))
+                .body("content.name", equalTo(List.of("User 1234", "User 12340", "User 12341", "User 12342", "User 12343")))
+                .body("size", equalTo(5))
+                .body("next", equalTo("1"));
+
+        UserSearchPage lastPage = userService.searchUsersByNamePrefix("USER 1234", 2, 5);
+        assertEquals(1, lastPage.getContent().size());
+        assertEquals("User 12349", lastPage.getContent().getFirst().name());
+        assertNull(lastPage.getNext());
+    }
+
+    @Test
+    void searchByNamePrefix_ShouldTreatWildcardsLiterally() {
+        given()
+                .queryParam("namePrefix", "ana_")
+                .when()
+                .get("/api/users/search")
+                .then()
+                .statusCode(200)
+                .body("content.name", equalTo(List.of("Ana_Maria")))
+                .body("next", nullValue());
+        given()
+                .queryParam("emailPrefix", "%")
+                .when()
+                .get("/api/users/search")
+                .then()
+                .statusCode(200)
+                .body("content", hasSize(0));
+    }
+
+    @Test
+    void search_WithBlankPrefix_ShouldReturn400() {
+        given()
+                .queryParam("emailPrefix", " ")
+                .when()
+                .get("/api/users/search")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void searchQueries_ShouldUseLowercaseIndexesInsteadOfScanningTheTable() {
+        SqlStatementCounter.reset();
+        userService.findUserByEmail("user42@seed.test");
+        userService.searchUsersByNamePrefix("user 4999", 0, 20);
+        userService.searchUsersByEmailPrefix("user4999", 0, 20);
+        List<String> statements = SqlStatementCounter.statements();
+        assertEquals(3, statements.size(), statements.toString());
+
+        assertIndexRangeScan(statements.get(0), "idx_users_email_lower", "user42@seed.test", 1);
+        assertIndexRangeScan(statements.get(1), "idx_users_name_lower", "user 4999%", 21);
+        assertIndexRangeScan(statements.get(2), "idx_users_email_lower", "user4999%", 21);
+    }
+
+    private void assertIndexRangeScan(String sql, String index, Object... args) {
+        String plan = jdbcTemplate.queryForObject("explain analyze " + sql, String.class, args).toLowerCase(Locale.ROOT);
+        assertTrue(plan.contains(index), plan);
+        assertFalse(plan.contains("tablescan"), plan);
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        assertTrue(matcher.find(), plan);
+        assertTrue(Long.parseLong(matcher.group(1)) <= 22, plan);
+    }
+}
@@ -0,0 +1,166 @@
+package com.junit.wiremock.integration;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.junit.wiremock.repository.UserRepository;
+import com.junit.wiremock.service.WriteBehindEmailValidator;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.show-sql=false",
+                "email.validation.batch.enabled=false",
+                "users.create.write-behind.enabled=true",
+                "users.create.write-behind.retry-delay=100ms"
+        })
+public class UserWriteBehindIntegrationTest {
+
+    private static final int VALIDATION_DELAY_MS = 800;
+
+    private static final int USERS = 30;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WriteBehindEmailValidator writeBehindEmailValidator;
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort().containerThreads(50))
+            .build();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("email.validation.api.url", wireMock::baseUrl);
+    }
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+        userRepository.deleteAllInBatch();
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":true,\"reason\":\"Valid email\"}")
+                        .withFixedDelay(VALIDATION_DELAY_MS)));
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .withQueryParam("email", matching("invalid.*"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":false,\"reason\":\"Mailbox does not exist\"}")
+                        .withFixedDelay(VALIDATION_DELAY_MS)));
+    }
+
+    @Test
+    void createUser_ShouldReturnPendingUserWithoutWaitingForValidation() throws Exception {
+        String since = changes(null).getString("next");
+        List<Long> latenciesMs = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            long start = System.nanoTime();
+            Response response = createUser("User " + i, "user" + i + "@example.com");
+            latenciesMs.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            response.then().statusCode(201);
+            assertEquals("PENDING_VALIDATION", response.path("status"));
+            ids.add(((Number) response.path("id")).longValue());
+        }
+        Response invalid = createUser("Invalid", "invalid@example.com");
+        invalid.then().statusCode(201);
+
+        assertTrue(latenciesMs.stream().allMatch(latency -> latency < VALIDATION_DELAY_MS),
+                "create latencies " + latenciesMs);
+        awaitNoPendingUsers();
+        for (Long id : ids) {
+            given().when().get("/api/users/" + id).then().statusCode(200)
+                    .body("status", equalTo("ACTIVE"));
+        }
+        given().when().get("/api/users/" + invalid.path("id")).then().statusCode(200)
+                .body("status", equalTo("INVALID_EMAIL"));
+        wireMock.verify(USERS + 1, getRequestedFor(urlPathEqualTo("/validate")));
+        JsonPath changes = changes(since);
+        assertEquals(USERS + 1, changes.getList("content").size());
+        assertFalse(changes.getList("content.user.status").contains("PENDING_VALIDATION"));
+    }
+
+    @Test
+    @DirtiesContext
+    void stop_ShouldFinishQueuedValidationsBeforeShutdown() throws Exception {
+        for (int i = 0; i < USERS; i++) {
+            createUser("User " + i, "shutdown" + i + "@example.com").then().statusCode(201);
+        }
+        assertTrue(pendingUsers() > 0, "validations finished before shutdown started");
+
+        writeBehindEmailValidator.stop();
+
+        assertEquals(0, pendingUsers());
+        assertEquals(0, writeBehindEmailValidator.pendingCount());
+        assertEquals(USERS, jdbcTemplate.queryForObject(
+                "select count(*) from users where status = 'ACTIVE'", Integer.class));
+    }
+
+    /** The last page of the change feed after {@code since}. */
+    private static JsonPath changes(String since) {
+        JsonPath page;
+        do {
+            page = given().queryParam("size", 100)
+                    .queryParams(since == null ? Map.of() : Map.of("since", since))
+                    .get("/api/users/changes").then().statusCode(200).extract().jsonPath();
+            since = page.getString("next");
+        } while (page.getBoolean("hasMore"));
+        return page;
+    }
+
+    private void awaitNoPendingUsers() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        while (pendingUsers() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, pendingUsers());
+    }
+
+    private int pendingUsers() {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from users where status = 'PENDING_VALIDATION'", Integer.class);
+    }
+
+    private Response createUser(String name, String email) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\":\"" + name + "\",\"email\":\"" + email + "\"}")
+                .when()
+                .post("/api/users");
+    }
+}
@@ -0,0 +1,107 @@
+package com.junit.wiremock.integration;
+
+import com.junit.wiremock.entity.User;
+import com.junit.wiremock.exception.UserVersionConflictException;
+import com.junit.wiremock.repository.UserRepository;
+import com.junit.wiremock.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.cache.type=none",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.junit.wiremock.integration.SqlStatementCounter"
+})
+public class UserWriteStatementsIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User existing;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("João");
+        user.setEmail("joao@email.com");
+        existing = userRepository.save(user);
+        SqlStatementCounter.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void updateUser_ShouldSelectOnceAndUpdateOnce() {
+        User update = new User();
+        update.setName("João Atualizado");
+        update.setEmail("joao@email.com");
+
+        User result = userService.updateUser(existing.getId(), update);
+
+        assertEquals(2, SqlStatementCounter.statements().size(), SqlStatementCounter.statements().toString());
+        assertEquals(1, SqlStatementCounter.count("select"));
+        assertEquals(1, SqlStatementCounter.count("update"));
+        assertEquals(1L, result.getVersion());
+        assertEquals("João Atualizado", userRepository.findById(existing.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void updateUser_WhenNothingChanged_ShouldNotIssueUpdate() {
+        User update = new User();
+        update.setName("João");
+        update.setEmail("joao@email.com");
+
+        User result = userService.updateUser(existing.getId(), update);
+
+        assertEquals(1, SqlStatementCounter.statements().size(), SqlStatementCounter.statements().toString());
+        assertEquals(0L, result.getVersion());
+    }
+
+    @Test
+    void updateUser_WhenVersionIsStale_ShouldRejectWithoutWriting() {
+        User first = new User();
+        first.setName("First");
+        first.setEmail("joao@email.com");
+        first.setVersion(0L);
+        userService.updateUser(existing.getId(), first);
+        SqlStatementCounter.reset();
+
+        User second = new User();
+        second.setName("Second");
+        second.setEmail("joao@email.com");
+        second.setVersion(0L);
+
+        assertThrows(UserVersionConflictException.class, () -> userService.updateUser(existing.getId(), second));
+        assertEquals(0, SqlStatementCounter.count("update"));
+        assertEquals("First", userRepository.findById(existing.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void deleteUser_ShouldIssueSingleDeleteAndTombstoneInsert() {
+        userService.deleteUser(existing.getId());
+
+        assertEquals(2, SqlStatementCounter.statements().size(), SqlStatementCounter.statements().toString());
+        assertEquals(1, SqlStatementCounter.count("delete"));
+        assertEquals(1, SqlStatementCounter.count("insert"));
+        assertFalse(userRepository.existsById(existing.getId()));
+    }
+
+    @Test
+    void deleteUser_WhenUserNotExists_ShouldIssueSingleDeleteAndThrow() {
+        assertThrows(RuntimeException.class, () -> userService.deleteUser(existing.getId() + 1000));
+
+        assertEquals(1, SqlStatementCounter.statements().size(), SqlStatementCounter.statements().toString());
+        assertTrue(userRepository.existsById(existing.getId()));
+    }
+}
@@ -0,0 +1,139 @@
+package com.junit.wiremock.integration;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.junit.wiremock.WiremockJunitExampleApplication;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VirtualThreadLoadTest {
+
+    private static final int TOMCAT_THREADS = 20;
+    private static final int CONCURRENT_CREATES = 100;
+    private static final int VALIDATION_DELAY_MS = 1000;
+    private static final int WARM_UP_CREATES = 50;
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort()
+                    .containerThreads(50)
+                    .asynchronousResponseEnabled(true)
+                    .asynchronousResponseThreads(10)
+                    .disableRequestJournal())
+            .build();
+
+    @Test
+    void createUser_UnderSlowValidationApi_VirtualThreadsShouldKeepMoreCreatesInFlight() throws Exception {
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":true,\"reason\":\"Valid email\"}")
+                        .withFixedDelay(VALIDATION_DELAY_MS)));
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .atPriority(1)
+                .withQueryParam("email", matching("warm-up.*"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"valid\":true,\"reason\":\"Valid email\"}")));
+
+        LoadResult platform = runLoad(false);
+        LoadResult virtual = runLoad(true);
+
+        assertTrue(platform.maxInFlight() <= TOMCAT_THREADS,
+                "platform threads reached " + platform.maxInFlight() + " concurrent creates");
+        assertTrue(virtual.maxInFlight() > TOMCAT_THREADS * 2,
+                "virtual threads only reached " + virtual.maxInFlight() + " concurrent creates");
+        assertTrue(virtual.p99Millis() < platform.p99Millis(),
+                "p99 with virtual threads " + virtual.p99Millis() + "ms, with platform threads " + platform.p99Millis() + "ms");
+    }
+
+    private LoadResult runLoad(boolean virtualThreads) throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Filter inFlightFilter = (request, response, chain) -> {
+            boolean create = "POST".equals(((HttpServletRequest) request).getMethod());
+            if (create) {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            }
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                if (create) {
+                    inFlight.decrementAndGet();
+                }
+            }
+        };
+
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WiremockJunitExampleApplication.class)
+                .initializers(ctx -> ((GenericApplicationContext) ctx)
+                        .registerBean("inFlightFilter", Filter.class, () -> inFlightFilter))
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                        "--spring.jpa.show-sql=false",
+                        "--email.validation.api.url=" + wireMock.baseUrl(),
+                        "--email.validation.http.max-total=" + CONCURRENT_CREATES,
+                        "--email.validation.http.max-per-route=" + CONCURRENT_CREATES,
+                        "--email.validation.http.connection-request-timeout=10s",
+                        "--email.validation.resilience.bulkhead.max-concurrent-calls=" + CONCURRENT_CREATES,
+                        "--email.validation.http.read-timeout=10s",
+                        // Measures how many creates the threads keep in flight, so nothing may be shed.
+                        "--users.concurrency-limit.enabled=false")) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpClient client = HttpClient.newHttpClient();
+
+            for (int i = 0; i < WARM_UP_CREATES; i++) {
+                assertEquals(201, client.send(createRequest(port, "warm-up-" + mode + i),
+                        HttpResponse.BodyHandlers.discarding()).statusCode());
+            }
+            maxInFlight.set(0);
+
+            List<CompletableFuture<Long>> latencies = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_CREATES; i++) {
+                HttpRequest request = createRequest(port, mode + i);
+                long start = System.nanoTime();
+                latencies.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .thenApply(response -> {
+                            assertEquals(201, response.statusCode());
+                            return (System.nanoTime() - start) / 1_000_000;
+                        }));
+            }
+
+            List<Long> sorted = latencies.stream().map(CompletableFuture::join).sorted().toList();
+            long p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+            return new LoadResult(maxInFlight.get(), p99);
+        }
+    }
+
+    private static HttpRequest createRequest(int port, String name) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"name\":\"" + name + "\",\"email\":\"" + name + "@example.com\"}"))
+                .build();
+    }
+
+    private record LoadResult(int maxInFlight, long p99Millis) {
+    }
+}
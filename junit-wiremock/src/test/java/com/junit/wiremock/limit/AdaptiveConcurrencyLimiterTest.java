@@ -0,0 +1,110 @@
+package com.junit.wiremock.limit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void tryAcquire_WhenLimitIsReached_ShouldRejectUntilAPermitIsReleased() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 2, 2);
+
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire();
+
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNull(limiter.tryAcquire());
+        assertEquals(1, meterRegistry.get("users.api.concurrency.rejected").tag("limiter", "test").counter().count());
+        assertEquals(2, meterRegistry.get("users.api.concurrency.in.flight").tag("limiter", "test").gauge().value());
+
+        first.release(true);
+        first.release(true);
+
+        assertEquals(1, limiter.getInFlight());
+        assertNotNull(limiter.tryAcquire());
+        assertNull(limiter.tryAcquire());
+    }
+
+    @Test
+    void release_WhenSaturatedAtSteadyLatency_ShouldRaiseTheLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 100);
+
+        for (int window = 0; window < 20; window++) {
+            runSaturated(limiter, 2);
+        }
+
+        assertTrue(limiter.getLimit() > 4, "limit " + limiter.getLimit());
+        assertEquals(limiter.getLimit(), meterRegistry.get("users.api.concurrency.limit").tag("limiter", "test").gauge().value());
+    }
+
+    @Test
+    void release_WhenLatencyRisesWellAboveTheBaseline_ShouldLowerTheLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(40, 1, 40);
+        for (int window = 0; window < 5; window++) {
+            runSaturated(limiter, 2);
+        }
+        assertEquals(40, limiter.getLimit());
+
+        for (int window = 0; window < 3; window++) {
+            runSaturated(limiter, 40);
+        }
+
+        assertTrue(limiter.getLimit() < 20, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void release_WhenFarBelowTheLimit_ShouldKeepTheLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 100);
+
+        for (int i = 0; i < 20; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+            Thread.sleep(1);
+            permit.release(true);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void release_WhenRequestFailed_ShouldNotAdjustTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 100);
+
+        for (int window = 0; window < 20; window++) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll(limiter);
+            permits.forEach(permit -> permit.release(false));
+        }
+
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    /** Updates the limit after every sample, with the baseline following as slowly as in production. */
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter("test", meterRegistry, initialLimit, minLimit, maxLimit,
+                1.5, 1.0, 100, Duration.ZERO, 1);
+    }
+
+    private static void runSaturated(AdaptiveConcurrencyLimiter limiter, long latencyMillis) throws InterruptedException {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll(limiter);
+        Thread.sleep(latencyMillis);
+        permits.getLast().release(true);
+        permits.subList(0, permits.size() - 1).forEach(permit -> permit.release(false));
+    }
+
+    private static List<AdaptiveConcurrencyLimiter.Permit> acquireAll(AdaptiveConcurrencyLimiter limiter) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        while ((permit = limiter.tryAcquire()) != null) {
+            permits.add(permit);
+        }
+        return permits;
+    }
+}
@@ -1,14 +1,25 @@
 package com.junit.wiremock.service;
 
+import com.junit.wiremock.cache.EmailIndex;
 import com.junit.wiremock.client.EmailValidationClient;
+import com.junit.wiremock.dto.BulkImportResult;
+import com.junit.wiremock.dto.UserPage;
+import com.junit.wiremock.dto.UserSearchPage;
 import com.junit.wiremock.dto.EmailValidationResponse;
 import com.junit.wiremock.entity.User;
+import com.junit.wiremock.entity.UserStatus;
+import com.junit.wiremock.exception.DuplicateEmailException;
+import com.junit.wiremock.exception.InvalidSearchException;
+import com.junit.wiremock.exception.UserVersionConflictException;
 import com.junit.wiremock.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +35,18 @@ public class UserServiceImplTest {
     @Mock
     private EmailValidationClient emailValidationClient;
 
+    @Mock
+    private UserBulkImporter userBulkImporter;
+
+    @Mock
+    private EmailIndex emailIndex;
+
+    @Mock
+    private WriteBehindEmailValidator writeBehindEmailValidator;
+
+    @Mock
+    private UserChangeFeed userChangeFeed;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -48,6 +71,57 @@ public class UserServiceImplTest {
         verify(userRepository).findAll();
     }
 
+    @Test
+    void getUsersAfter_WhenMoreRowsExist_ShouldReturnNextCursor() {
+        User user1 = new User();
+        user1.setId(1L);
+        User user2 = new User();
+        user2.setId(2L);
+        User user3 = new User();
+        user3.setId(3L);
+
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(List.of(user1, user2, user3));
+
+        UserPage page = userService.getUsersAfter("", 2);
+
+        assertEquals(2, page.getContent().size());
+        assertNotNull(page.getNext());
+
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3))).thenReturn(List.of(user3));
+
+        UserPage lastPage = userService.getUsersAfter(page.getNext(), 2);
+
+        assertEquals(1, lastPage.getContent().size());
+        assertNull(lastPage.getNext());
+    }
+
+    @Test
+    void getUsersAfter_WhenSizeExceedsMaximum_ShouldClampPageSize() {
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(101))).thenReturn(List.of());
+
+        UserPage page = userService.getUsersAfter(null, 5000);
+
+        assertEquals(100, page.getSize());
+        verify(userRepository).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(101));
+    }
+
+    @Test
+    void searchUsersByNamePrefix_ShouldLowercaseAndEscapeWildcards() {
+        when(userRepository.findResponsesByNameLike("50\\%\\_off\\\\%", PageRequest.of(0, 20)))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        UserSearchPage page = userService.searchUsersByNamePrefix(" 50%_OFF\\ ", -1, 20);
+
+        assertTrue(page.getContent().isEmpty());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void searchUsersByEmailPrefix_WhenBlank_ShouldRejectWithoutQuerying() {
+        assertThrows(InvalidSearchException.class, () -> userService.searchUsersByEmailPrefix("  ", 0, 20));
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     void getUserById_WhenUserExists_ShouldReturnUser() {
         User user = new User();
@@ -97,6 +171,60 @@ public class UserServiceImplTest {
         assertEquals("João", result.getName());
         verify(emailValidationClient).validateEmail("joao@email.com");
         verify(userRepository).save(user);
+        verify(emailIndex).add("joao@email.com");
+    }
+
+    @Test
+    void createUser_InWriteBehindMode_ShouldSavePendingUserWithoutValidating() {
+        User user = new User();
+        user.setName("João");
+        user.setEmail("joao@email.com");
+
+        when(writeBehindEmailValidator.isEnabled()).thenReturn(true);
+        when(userRepository.save(user)).thenAnswer(invocation -> {
+            user.setId(1L);
+            return user;
+        });
+        when(writeBehindEmailValidator.enqueue(1L, "joao@email.com")).thenReturn(true);
+
+        User result = userService.createUser(user);
+
+        assertEquals(UserStatus.PENDING_VALIDATION, result.getStatus());
+        verify(emailValidationClient, never()).validateEmail(any());
+        verify(writeBehindEmailValidator, never()).validateNow(any(), any());
+    }
+
+    @Test
+    void createUser_InWriteBehindModeWithFullQueue_ShouldValidateInline() {
+        User user = new User();
+        user.setName("João");
+        user.setEmail("joao@email.com");
+
+        when(writeBehindEmailValidator.isEnabled()).thenReturn(true);
+        when(userRepository.save(user)).thenAnswer(invocation -> {
+            user.setId(1L);
+            return user;
+        });
+        when(writeBehindEmailValidator.enqueue(1L, "joao@email.com")).thenReturn(false);
+        when(writeBehindEmailValidator.validateNow(1L, "joao@email.com")).thenReturn(UserStatus.ACTIVE);
+
+        User result = userService.createUser(user);
+
+        assertEquals(UserStatus.ACTIVE, result.getStatus());
+        verify(writeBehindEmailValidator).validateNow(1L, "joao@email.com");
+    }
+
+    @Test
+    void createUser_WhenEmailAlreadyExists_ShouldRejectWithoutValidation() {
+        User user = new User();
+        user.setName("João");
+        user.setEmail("joao@email.com");
+
+        when(emailIndex.isTaken("joao@email.com")).thenReturn(true);
+
+        assertThrows(DuplicateEmailException.class, () -> userService.createUser(user));
+        verify(emailValidationClient, never()).validateEmail(any());
+        verify(userRepository, never()).save(any());
     }
 
     @Test
@@ -111,38 +239,68 @@ public class UserServiceImplTest {
         updateData.setEmail("joao.novo@email.com");
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.save(existingUser)).thenReturn(existingUser);
 
         User result = userService.updateUser(1L, updateData);
 
         assertEquals("João Atualizado", result.getName());
         assertEquals("joao.novo@email.com", result.getEmail());
         verify(userRepository).findById(1L);
-        verify(userRepository).save(existingUser);
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void updateUser_WhenVersionIsStale_ShouldThrowConflict() {
+        User existingUser = new User();
+        existingUser.setId(1L);
+        existingUser.setName("João");
+        existingUser.setEmail("joao@email.com");
+        existingUser.setVersion(3L);
+
+        User updateData = new User();
+        updateData.setName("João Atualizado");
+        updateData.setEmail("joao@email.com");
+        updateData.setVersion(2L);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
+
+        assertThrows(UserVersionConflictException.class, () -> userService.updateUser(1L, updateData));
+        assertEquals("João", existingUser.getName());
     }
 
     @Test
     void deleteUser_WhenUserExists_ShouldDeleteUser() {
-        User user = new User();
-        user.setId(1L);
-        user.setName("João");
-        user.setEmail("joao@email.com");
-        
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        doNothing().when(userRepository).deleteById(1L);
+        when(userChangeFeed.deleteUser(1L)).thenReturn(true);
 
         userService.deleteUser(1L);
 
-        verify(userRepository).findById(1L);
-        verify(userRepository).deleteById(1L);
+        verify(userChangeFeed).deleteUser(1L);
+        verify(userRepository, never()).findById(any());
     }
 
     @Test
     void deleteUser_WhenUserNotExists_ShouldThrowException() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userChangeFeed.deleteUser(1L)).thenReturn(false);
 
         assertThrows(RuntimeException.class, () -> userService.deleteUser(1L));
-        verify(userRepository).findById(1L);
-        verify(userRepository, never()).deleteById(1L);
+        verify(userChangeFeed).deleteUser(1L);
+    }
+
+    @Test
+    void importUsers_ShouldDelegateToBulkImporter() {
+        User user = new User();
+        user.setName("João");
+        user.setEmail("joao@email.com");
+
+        BulkImportResult importResult = new BulkImportResult();
+        importResult.setTotal(1);
+        importResult.setCreated(1);
+
+        List<User> users = List.of(user);
+        when(userBulkImporter.importUsers(any())).thenReturn(importResult);
+
+        BulkImportResult result = userService.importUsers(users.iterator());
+
+        assertEquals(1, result.getCreated());
+        verify(userBulkImporter).importUsers(any());
     }
 }
@@ -1,18 +1,49 @@
 package com.junit.wiremock.service;
 
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.junit.wiremock.cache.EmailIndex;
+import com.junit.wiremock.cache.EmailValidationCache;
+import com.junit.wiremock.client.AsyncEmailValidationClient;
+import com.junit.wiremock.client.EmailPreValidator;
+import com.junit.wiremock.client.EmailValidationBatcher;
 import com.junit.wiremock.client.EmailValidationClient;
+import com.junit.wiremock.client.EmailValidationResilience;
+import com.junit.wiremock.config.EmailValidationResilienceConfig;
 import com.junit.wiremock.entity.User;
 import com.junit.wiremock.repository.UserRepository;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
+import tools.jackson.databind.json.JsonMapper;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,12 +60,48 @@ public class UserServiceWithWireMockTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EmailIndex emailIndex;
+
+    @Mock
+    private WriteBehindEmailValidator writeBehindEmailValidator;
+
+    @Mock
+    private EmailValidationBatcher emailValidationBatcher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
+    private final EmailValidationCache validationCache =
+            new EmailValidationCache(100, Duration.ofMinutes(5), Duration.ofMinutes(1));
+
+    private final EmailValidationResilience resilience = new EmailValidationResilience(
+            CircuitBreaker.ofDefaults("emailValidation"),
+            Bulkhead.ofDefaults("emailValidation"),
+            Retry.of("emailValidation", EmailValidationResilienceConfig.retryConfig(3, Duration.ofMillis(10), 2.0, 0.5)),
+            EmailValidationResilience.DegradedPolicy.REJECT);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService userAsyncWriteExecutor =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("user-async-write-"));
+
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void shutDownExecutors() {
+        userAsyncWriteExecutor.shutdownNow();
+        retryScheduler.shutdownNow();
+    }
+
+    private final EmailPreValidator preValidator = new EmailPreValidator(meterRegistry, true,
+            new Resource[] {new ClassPathResource("email/disposable-domains.txt")}, List.of(),
+            List.of("Domain does not exist"), Duration.ofHours(1), 1000);
+
     @Test
     void createUser_WhenEmailIsValid_ShouldCreateUser() {
-        EmailValidationClient emailClient = new EmailValidationClient(new RestTemplate());
+        EmailValidationClient emailClient = new EmailValidationClient(new RestTemplate(), validationCache, resilience,
+                emailValidationBatcher, meterRegistry, preValidator);
         ReflectionTestUtils.setField(emailClient, "apiUrl", wireMock.baseUrl());
         ReflectionTestUtils.setField(userService, "emailValidationClient", emailClient);
 
@@ -63,11 +130,13 @@ public class UserServiceWithWireMockTest {
         verify(userRepository).save(user);
         wireMock.verify(getRequestedFor(urlPathEqualTo("/validate"))
                 .withQueryParam("email", equalTo("john@example.com")));
+        assertEquals(1, validationTimerCount("valid"));
     }
 
     @Test
     void createUser_WhenEmailIsInvalid_ShouldThrowException() {
-        EmailValidationClient emailClient = new EmailValidationClient(new RestTemplate());
+        EmailValidationClient emailClient = new EmailValidationClient(new RestTemplate(), validationCache, resilience,
+                emailValidationBatcher, meterRegistry, preValidator);
         ReflectionTestUtils.setField(emailClient, "apiUrl", wireMock.baseUrl());
         ReflectionTestUtils.setField(userService, "emailValidationClient", emailClient);
 
@@ -88,11 +157,82 @@ public class UserServiceWithWireMockTest {
         verify(userRepository, never()).save(any());
         wireMock.verify(getRequestedFor(urlPathEqualTo("/validate"))
                 .withQueryParam("email", equalTo("invalid@fake.com")));
+        assertEquals(1, validationTimerCount("invalid"));
+    }
+
+    @Test
+    void createUserAsync_WhenEmailIsValid_ShouldCreateUser() throws Exception {
+        try (HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            AsyncEmailValidationClient emailClient = new AsyncEmailValidationClient(
+                    httpClient, JsonMapper.builder().build(), validationCache, resilience, retryScheduler, meterRegistry, preValidator);
+            ReflectionTestUtils.setField(emailClient, "apiUrl", wireMock.baseUrl());
+            ReflectionTestUtils.setField(userService, "asyncEmailValidationClient", emailClient);
+            ReflectionTestUtils.setField(userService, "userAsyncWriteExecutor", userAsyncWriteExecutor);
+
+            wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                    .withQueryParam("email", equalTo("async@example.com"))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withBody("{\"email\":\"async@example.com\",\"valid\":true,\"reason\":\"Valid email\"}")
+                            .withFixedDelay(200)));
+
+            User user = new User();
+            user.setName("John Doe");
+            user.setEmail("async@example.com");
+
+            User savedUser = new User();
+            savedUser.setId(1L);
+            savedUser.setName("John Doe");
+            savedUser.setEmail("async@example.com");
+
+            AtomicReference<String> savingThread = new AtomicReference<>();
+            when(userRepository.save(user)).thenAnswer(invocation -> {
+                savingThread.set(Thread.currentThread().getName());
+                return savedUser;
+            });
+
+            CompletableFuture<User> result = userService.createUserAsync(user);
+
+            assertEquals(1L, result.get(5, TimeUnit.SECONDS).getId());
+            verify(userRepository).save(user);
+            assertTrue(savingThread.get().startsWith("user-async-write-"), savingThread.get());
+            assertEquals(1, validationTimerCount("valid"));
+        }
+    }
+
+    @Test
+    void createUserAsync_WhenEmailIsInvalid_ShouldCompleteExceptionally() {
+        try (HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            AsyncEmailValidationClient emailClient = new AsyncEmailValidationClient(
+                    httpClient, JsonMapper.builder().build(), validationCache, resilience, retryScheduler, meterRegistry, preValidator);
+            ReflectionTestUtils.setField(emailClient, "apiUrl", wireMock.baseUrl());
+            ReflectionTestUtils.setField(userService, "asyncEmailValidationClient", emailClient);
+            ReflectionTestUtils.setField(userService, "userAsyncWriteExecutor", userAsyncWriteExecutor);
+
+            wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                    .withQueryParam("email", equalTo("invalid@fake.com"))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withBody("{\"email\":\"invalid@fake.com\",\"valid\":false,\"reason\":\"Domain does not exist\"}")));
+
+            User user = new User();
+            user.setName("John Doe");
+            user.setEmail("invalid@fake.com");
+
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> userService.createUserAsync(user).get(5, TimeUnit.SECONDS));
+
+            assertTrue(exception.getCause().getMessage().contains("Invalid email"));
+            verify(userRepository, never()).save(any());
+        }
     }
 
     @Test
     void createUser_WhenApiReturns404_ShouldThrowException() {
-        EmailValidationClient emailClient = new EmailValidationClient(new RestTemplate());
+        EmailValidationClient emailClient = new EmailValidationClient(new RestTemplate(), validationCache, resilience,
+                emailValidationBatcher, meterRegistry, preValidator);
         ReflectionTestUtils.setField(emailClient, "apiUrl", wireMock.baseUrl());
         ReflectionTestUtils.setField(userService, "emailValidationClient", emailClient);
 
@@ -105,11 +245,15 @@ public class UserServiceWithWireMockTest {
 
         assertThrows(Exception.class, () -> userService.createUser(user));
         verify(userRepository, never()).save(any());
+        assertEquals(1, validationTimerCount("error"));
     }
 
     @Test
     void createUser_WhenApiTimeout_ShouldThrowException() {
-        EmailValidationClient emailClient = new EmailValidationClient(new RestTemplate());
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setReadTimeout(Duration.ofSeconds(1));
+        EmailValidationClient emailClient = new EmailValidationClient(new RestTemplate(requestFactory), validationCache, resilience,
+                emailValidationBatcher, meterRegistry, preValidator);
         ReflectionTestUtils.setField(emailClient, "apiUrl", wireMock.baseUrl());
         ReflectionTestUtils.setField(userService, "emailValidationClient", emailClient);
 
@@ -124,5 +268,163 @@ public class UserServiceWithWireMockTest {
 
         assertThrows(Exception.class, () -> userService.createUser(user));
         verify(userRepository, never()).save(any());
+        assertEquals(1, validationTimerCount("timeout"));
+    }
+
+    @Test
+    void createUser_WhenSameEmailIsRepeated_ShouldCallValidationApiOnce() {
+        EmailValidationClient emailClient = new EmailValidationClient(new RestTemplate(), validationCache, resilience,
+                emailValidationBatcher, meterRegistry, preValidator);
+        ReflectionTestUtils.setField(emailClient, "apiUrl", wireMock.baseUrl());
+        ReflectionTestUtils.setField(userService, "emailValidationClient", emailClient);
+
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .withQueryParam("email", equalTo("john@example.com"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"email\":\"john@example.com\",\"valid\":true,\"reason\":\"Valid email\"}")));
+
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        for (String email : List.of("john@example.com", "john@example.com", "John@Example.com ")) {
+            User user = new User();
+            user.setName("John Doe");
+            user.setEmail(email);
+            userService.createUser(user);
+        }
+
+        verify(userRepository, times(3)).save(any(User.class));
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/validate")));
+        assertEquals(1, validationCache.missCount());
+        assertEquals(2, validationCache.hitCount());
+    }
+
+    @Test
+    void createUser_WhenSameInvalidEmailIsRepeated_ShouldCallValidationApiOnce() {
+        EmailValidationClient emailClient = new EmailValidationClient(new RestTemplate(), validationCache, resilience,
+                emailValidationBatcher, meterRegistry, preValidator);
+        ReflectionTestUtils.setField(emailClient, "apiUrl", wireMock.baseUrl());
+        ReflectionTestUtils.setField(userService, "emailValidationClient", emailClient);
+
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .withQueryParam("email", equalTo("invalid@fake.com"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"email\":\"invalid@fake.com\",\"valid\":false,\"reason\":\"Domain does not exist\"}")));
+
+        User user = new User();
+        user.setName("John Doe");
+        user.setEmail("invalid@fake.com");
+
+        assertThrows(RuntimeException.class, () -> userService.createUser(user));
+        assertThrows(RuntimeException.class, () -> userService.createUser(user));
+
+        verify(userRepository, never()).save(any());
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/validate")));
+    }
+
+    @Test
+    void createUser_WhenSameEmailIsValidatedConcurrently_ShouldCallValidationApiOnce() throws Exception {
+        EmailValidationClient emailClient = new EmailValidationClient(new RestTemplate(), validationCache, resilience,
+                emailValidationBatcher, meterRegistry, preValidator);
+        ReflectionTestUtils.setField(emailClient, "apiUrl", wireMock.baseUrl());
+        ReflectionTestUtils.setField(userService, "emailValidationClient", emailClient);
+
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .withQueryParam("email", equalTo("john@example.com"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"email\":\"john@example.com\",\"valid\":true,\"reason\":\"Valid email\"}")
+                        .withFixedDelay(300)));
+
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        int callers = 10;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<User>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    User user = new User();
+                    user.setName("John Doe");
+                    user.setEmail("john@example.com");
+                    start.await();
+                    return userService.createUser(user);
+                }));
+            }
+            start.countDown();
+            for (Future<User> result : results) {
+                assertEquals("john@example.com", result.get().getEmail());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/validate")));
+    }
+
+    @Test
+    void createUser_WhenDomainWasRejected_ShouldRejectOtherAddressesOnItWithoutCallingApi() {
+        EmailValidationClient emailClient = new EmailValidationClient(new RestTemplate(), validationCache, resilience,
+                emailValidationBatcher, meterRegistry, preValidator);
+        ReflectionTestUtils.setField(emailClient, "apiUrl", wireMock.baseUrl());
+        ReflectionTestUtils.setField(userService, "emailValidationClient", emailClient);
+
+        wireMock.stubFor(get(urlPathEqualTo("/validate"))
+                .withQueryParam("email", equalTo("invalid@fake.com"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"email\":\"invalid@fake.com\",\"valid\":false,\"reason\":\"Domain does not exist\"}")));
+
+        User first = new User();
+        first.setName("John Doe");
+        first.setEmail("invalid@fake.com");
+        User second = new User();
+        second.setName("Jane Doe");
+        second.setEmail("jane@FAKE.com");
+
+        assertThrows(RuntimeException.class, () -> userService.createUser(first));
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> userService.createUser(second));
+
+        assertTrue(exception.getMessage().contains("Domain does not exist"));
+        verify(userRepository, never()).save(any());
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/validate")));
+        assertEquals(1, avoidedCallCount("rejected-domain"));
+    }
+
+    @Test
+    void createUser_WhenEmailIsMalformedOrDisposable_ShouldRejectWithoutCallingApi() {
+        EmailValidationClient emailClient = new EmailValidationClient(new RestTemplate(), validationCache, resilience,
+                emailValidationBatcher, meterRegistry, preValidator);
+        ReflectionTestUtils.setField(emailClient, "apiUrl", wireMock.baseUrl());
+        ReflectionTestUtils.setField(userService, "emailValidationClient", emailClient);
+
+        User malformed = new User();
+        malformed.setName("John Doe");
+        malformed.setEmail("john..doe@example.com");
+        User disposable = new User();
+        disposable.setName("John Doe");
+        disposable.setEmail("john@eu.mailinator.com");
+
+        assertThrows(RuntimeException.class, () -> userService.createUser(malformed));
+        assertThrows(RuntimeException.class, () -> userService.createUser(disposable));
+
+        verify(userRepository, never()).save(any());
+        wireMock.verify(0, getRequestedFor(urlPathEqualTo("/validate")));
+        assertEquals(1, avoidedCallCount("invalid-syntax"));
+        assertEquals(1, avoidedCallCount("disposable-domain"));
+    }
+
+    private double avoidedCallCount(String reason) {
+        return meterRegistry.get("email.validation.remote.avoided").tag("reason", reason).counter().count();
+    }
+
+    private long validationTimerCount(String outcome) {
+        return meterRegistry.get("email.validation.requests").tag("outcome", outcome).timer().count();
     }
 }